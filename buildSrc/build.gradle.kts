@@ -6,6 +6,11 @@ plugins {
 dependencies {
     implementation(nokeeApi())
     implementation(gradleApi())
+    testImplementation(kotlin("test"))
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 repositories {
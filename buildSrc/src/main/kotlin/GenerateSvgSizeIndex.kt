@@ -0,0 +1,41 @@
+import java.io.File
+import kotlin.math.floor
+
+private val svgTagPattern = Regex("<svg\\b[^>]*>")
+
+private fun attributePattern(name: String) = Regex("(?<![\\w-])$name\\s*=\\s*[\"']([^\"']*)[\"']")
+
+private val widthPattern = attributePattern("width")
+private val heightPattern = attributePattern("height")
+private val viewBoxPattern = attributePattern("viewBox")
+
+/*
+ * Returns the length of the attribute in user units or the fallback if the attribute isn't present.
+ * Other units like pt, em or percentages aren't resolved. In this case null is returned, hence those
+ * icons are left out of the index.
+ */
+private fun length(pattern: Regex, tag: String, fallback: Double?): Double? {
+    val value = pattern.find(tag)?.groupValues?.get(1) ?: return fallback
+    return value.trim().removeSuffix("px").toDoubleOrNull()
+}
+
+/*
+ * Returns the size of the svg the same way DarkSVGIcon infers it from the parsed document.
+ */
+private fun svgSize(svg: String): Pair<Int, Int>? {
+    val tag = svgTagPattern.find(svg)?.value ?: return null
+    val viewBox = viewBoxPattern.find(tag)?.groupValues?.get(1)
+        ?.split(Regex("[\\s,]+"))?.filter { it.isNotEmpty() }?.mapNotNull { it.toDoubleOrNull() }
+        ?.takeIf { it.size == 4 }
+    val width = length(widthPattern, tag, viewBox?.get(2)) ?: return null
+    val height = length(heightPattern, tag, viewBox?.get(3)) ?: return null
+    return Pair(floor(width + 0.5).toInt(), floor(height + 0.5).toInt())
+}
+
+fun createSvgSizeIndex(iconDirectory: File): String =
+    iconDirectory.walkTopDown()
+        .filter { it.isFile && it.extension == "svg" }
+        .map { it.relativeTo(iconDirectory).invariantSeparatorsPath to it }
+        .sortedBy { it.first }
+        .mapNotNull { (path, file) -> svgSize(file.readText())?.let { "$path=${it.first},${it.second}" } }
+        .joinToString(separator = "\n", postfix = "\n")
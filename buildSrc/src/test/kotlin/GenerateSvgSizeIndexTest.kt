@@ -0,0 +1,40 @@
+import java.io.File
+import java.nio.file.Files
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class GenerateSvgSizeIndexTest {
+
+    private val iconDirectory: File = Files.createTempDirectory("svgSizeIndex").toFile()
+
+    @AfterTest
+    fun cleanup() {
+        iconDirectory.deleteRecursively()
+    }
+
+    private fun icon(name: String, attributes: String) {
+        iconDirectory.resolve(name).writeText("<svg xmlns=\"http://www.w3.org/2000/svg\" $attributes></svg>")
+    }
+
+    @Test
+    fun `sizes in user units are indexed`() {
+        icon("plain.svg", "width=\"16\" height=\"12.6\"")
+        icon("px.svg", "width=\"16px\" height=\"16px\"")
+        icon("viewBox.svg", "viewBox=\"0 0 24 20\"")
+        icon("mixed.svg", "width=\"10\" viewBox=\"0 0 24 20\"")
+        assertEquals(
+            "mixed.svg=10,20\nplain.svg=16,13\npx.svg=16,16\nviewBox.svg=24,20\n",
+            createSvgSizeIndex(iconDirectory)
+        )
+    }
+
+    @Test
+    fun `sizes with other units are left out`() {
+        icon("pt.svg", "width=\"12pt\" height=\"12pt\" viewBox=\"0 0 16 16\"")
+        icon("em.svg", "width=\"1em\" height=\"16\" viewBox=\"0 0 16 16\"")
+        icon("percent.svg", "width=\"16\" height=\"50%\" viewBox=\"0 0 16 16\"")
+        icon("indexed.svg", "width=\"16\" height=\"16\"")
+        assertEquals("indexed.svg=16,16\n", createSvgSizeIndex(iconDirectory))
+    }
+}
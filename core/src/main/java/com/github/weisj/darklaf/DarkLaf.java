@@ -35,12 +35,18 @@ import com.github.weisj.darklaf.theme.laf.ThemedLookAndFeel;
 import com.github.weisj.darklaf.ui.DarkPopupFactory;
 import com.github.weisj.darklaf.ui.popupmenu.MouseGrabberUtil;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
 
 /** @author Jannis Weis */
 public class DarkLaf extends ThemedLookAndFeel {
 
     public static final String SYSTEM_PROPERTY_PREFIX = "darklaf.";
     public static final String ALLOW_NATIVE_CODE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "allowNativeCode";
+    /*
+     * If enabled switching the theme only reinstalls the ui of components which depend on defaults whose
+     * value has changed.
+     */
+    public static final String INCREMENTAL_UPDATE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "incrementalThemeSwitch";
     private static final Logger LOGGER = LogUtil.getLogger(DarkLaf.class);
 
     private static final float DEFAULTS_LOAD_FACTOR = 0.75f;
@@ -157,7 +163,9 @@ public class DarkLaf extends ThemedLookAndFeel {
     @Override
     public UIDefaults getDefaults() {
         final UIDefaults baseDefaults = base.getDefaults();
-        final UIDefaults defaults = new UIDefaults(DEFAULTS_CAPACITY, DEFAULTS_LOAD_FACTOR);
+        final UIDefaults defaults = isIncrementalUpdateEnabled()
+                ? new DependencyTrackingDefaults(DEFAULTS_CAPACITY, DEFAULTS_LOAD_FACTOR)
+                : new UIDefaults(DEFAULTS_CAPACITY, DEFAULTS_LOAD_FACTOR);
         defaults.putAll(baseDefaults);
 
         final Theme currentTheme = getTheme();
@@ -171,6 +179,10 @@ public class DarkLaf extends ThemedLookAndFeel {
         return defaults;
     }
 
+    static boolean isIncrementalUpdateEnabled() {
+        return PropertyUtil.getSystemFlag(INCREMENTAL_UPDATE_FLAG, false);
+    }
+
     private void postInstall() {
         Theme currentTheme = getTheme();
         if (!LafManager.getInstalledTheme().equals(currentTheme)) {
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+/**
+ * Keeps track of the ui defaults read while the ui of a component is installed. A component whose
+ * dependencies didn't change between two installations of the look and feel doesn't need to have its
+ * ui reinstalled.
+ *
+ * <p>
+ * Values which are created lazily may themselves read other defaults. These reads are recorded for
+ * the key of the lazy value and are attributed to every component reading the value.
+ *
+ * @author Jannis Weis
+ */
+final class DefaultsDependencies {
+
+    private static final Map<Class<?>, Set<Object>> componentDependencies = new ConcurrentHashMap<>();
+    private static final Map<Object, Set<Object>> valueDependencies = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<Set<Object>>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final AtomicInteger activeRecordings = new AtomicInteger();
+    private static final ClassValue<Boolean> comparableByType = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            // Lambdas and anonymous classes may capture arbitrary state.
+            if (type.isSynthetic() || type.isAnonymousClass()) return false;
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() == Object.class;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private DefaultsDependencies() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static boolean isRecording() {
+        return activeRecordings.get() > 0;
+    }
+
+    /**
+     * Returns the defaults read while installing the ui of components of the given type.
+     *
+     * @param componentClass the type of the component.
+     * @return the keys or null if no installation has been recorded yet.
+     */
+    static Set<Object> getDependencies(final Class<?> componentClass) {
+        return componentDependencies.get(componentClass);
+    }
+
+    /**
+     * Updates the ui of the component and records the defaults read while doing so.
+     *
+     * @param c the component.
+     */
+    static void updateUI(final JComponent c) {
+        Deque<Set<Object>> stack = frames.get();
+        Set<Object> reads = new HashSet<>();
+        stack.push(reads);
+        activeRecordings.incrementAndGet();
+        try {
+            c.updateUI();
+        } finally {
+            activeRecordings.decrementAndGet();
+            stack.pop();
+        }
+        componentDependencies.merge(c.getClass(), reads, (a, b) -> {
+            Set<Object> union = new HashSet<>(a);
+            union.addAll(b);
+            return union;
+        });
+    }
+
+    /**
+     * Marks the start of reading the value of the given key.
+     *
+     * @param key the key.
+     * @param resolving whether the value is created while being read.
+     * @return the frame of the value if it is being resolved.
+     */
+    static Set<Object> beginRead(final Object key, final boolean resolving) {
+        Deque<Set<Object>> stack = frames.get();
+        Set<Object> frame = stack.peek();
+        if (frame != null) {
+            frame.add(key);
+            if (!resolving) {
+                Set<Object> dependencies = valueDependencies.get(key);
+                if (dependencies != null) frame.addAll(dependencies);
+            }
+        }
+        if (!resolving) return null;
+        Set<Object> reads = new HashSet<>();
+        stack.push(reads);
+        activeRecordings.incrementAndGet();
+        return reads;
+    }
+
+    static void endRead(final Object key, final Set<Object> reads) {
+        if (reads == null) return;
+        activeRecordings.decrementAndGet();
+        Deque<Set<Object>> stack = frames.get();
+        stack.pop();
+        if (reads.isEmpty()) {
+            valueDependencies.remove(key);
+        } else {
+            valueDependencies.put(key, reads);
+            Set<Object> frame = stack.peek();
+            if (frame != null) frame.addAll(reads);
+        }
+    }
+
+    /**
+     * Computes the keys whose values differ between two sets of defaults. Lazy and active values are
+     * compared by type, unless they define their own notion of equality. Lambdas and instances of
+     * anonymous classes are always considered changed, as they may capture arbitrary state. Whatever
+     * lazy values read while being created is recorded separately.
+     *
+     * @param previous the raw values of the previous defaults.
+     * @param current the raw values of the current defaults.
+     * @return the changed keys.
+     */
+    static Set<Object> changedKeys(final Map<Object, Object> previous, final Map<Object, Object> current) {
+        Set<Object> changed = new HashSet<>();
+        for (Map.Entry<Object, Object> entry : current.entrySet()) {
+            if (!isSameValue(previous.get(entry.getKey()), entry.getValue())) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (Object key : previous.keySet()) {
+            if (!current.containsKey(key)) changed.add(key);
+        }
+        return changed;
+    }
+
+    private static boolean isSameValue(final Object previous, final Object current) {
+        if (Objects.equals(previous, current)) return true;
+        if (previous == null || current == null || previous.getClass() != current.getClass()) return false;
+        return (current instanceof UIDefaults.LazyValue || current instanceof UIDefaults.ActiveValue)
+                && comparableByType.get(current.getClass());
+    }
+
+    static boolean intersects(final Set<Object> dependencies, final Set<Object> changedKeys) {
+        Set<Object> smaller = dependencies.size() < changedKeys.size() ? dependencies : changedKeys;
+        Set<Object> larger = smaller == dependencies ? changedKeys : dependencies;
+        for (Object key : smaller) {
+            if (larger.contains(key)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.*;
+
+/**
+ * Ui defaults which report the keys read from them to {@link DefaultsDependencies}.
+ *
+ * @author Jannis Weis
+ */
+final class DependencyTrackingDefaults extends UIDefaults {
+
+    /*
+     * Keys of values which are created on access. The value indicates whether the value is created on
+     * every access.
+     */
+    private final Map<Object, Boolean> unresolvedKeys = new ConcurrentHashMap<>();
+
+    DependencyTrackingDefaults(final int initialCapacity, final float loadFactor) {
+        super(initialCapacity, loadFactor);
+    }
+
+    @Override
+    public Object put(final Object key, final Object value) {
+        if (key != null) {
+            if (value instanceof ActiveValue) {
+                unresolvedKeys.put(key, Boolean.TRUE);
+            } else if (value instanceof LazyValue) {
+                unresolvedKeys.put(key, Boolean.FALSE);
+            } else {
+                unresolvedKeys.remove(key);
+            }
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        return get(key, null, false);
+    }
+
+    @Override
+    public Object get(final Object key, final Locale l) {
+        return get(key, l, true);
+    }
+
+    private Object get(final Object key, final Locale l, final boolean hasLocale) {
+        Boolean active = key != null ? unresolvedKeys.get(key) : null;
+        if (active == null && !DefaultsDependencies.isRecording()) {
+            return hasLocale ? super.get(key, l) : super.get(key);
+        }
+        Set<Object> reads = DefaultsDependencies.beginRead(key, active != null);
+        try {
+            return hasLocale ? super.get(key, l) : super.get(key);
+        } finally {
+            if (Boolean.FALSE.equals(active)) unresolvedKeys.remove(key);
+            DefaultsDependencies.endRead(key, reads);
+        }
+    }
+}
@@ -20,14 +20,17 @@
  */
 package com.github.weisj.darklaf;
 
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Window;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.swing.SwingUtilities;
-import javax.swing.UIManager;
-import javax.swing.UnsupportedLookAndFeelException;
+import javax.swing.*;
 
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.theme.event.ThemeChangeEvent;
@@ -42,6 +45,11 @@ final class LafInstaller {
     private static final ThemeEventSupport<ThemeChangeEvent, ThemeChangeListener> eventSupport =
             new ThemeEventSupport<>();
 
+    /*
+     * The raw values of the defaults of the last installation, if the incremental update is enabled.
+     */
+    private Map<Object, Object> installedDefaults;
+
     void install(final Theme theme) {
         if (!isInstalling.compareAndSet(false, true)) {
             throw new IllegalStateException("Can't install Laf while installation is in progress");
@@ -49,8 +57,22 @@ final class LafInstaller {
         try {
             LOGGER.fine(() -> "Installing theme " + theme);
             LafTransition transition = LafTransition.showSnapshot();
+            Map<Object, Object> previousDefaults = installedDefaults;
             UIManager.setLookAndFeel(new DarkLaf(theme, false, true));
-            updateLaf();
+            UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+            if (defaults instanceof DependencyTrackingDefaults) {
+                // Copying the table doesn't resolve lazy values.
+                installedDefaults = new HashMap<>(defaults);
+            } else {
+                installedDefaults = null;
+            }
+            if (previousDefaults != null && installedDefaults != null) {
+                Set<Object> changedKeys = DefaultsDependencies.changedKeys(previousDefaults, installedDefaults);
+                LOGGER.fine(() -> "Updating components affected by " + changedKeys.size() + " changed defaults");
+                updateLaf(changedKeys);
+            } else {
+                updateLaf();
+            }
             SwingUtilities.invokeLater(transition::runTransition);
             notifyThemeInstalled(theme);
         } catch (final UnsupportedLookAndFeelException e) {
@@ -61,16 +83,69 @@ final class LafInstaller {
     }
 
     void updateLaf() {
+        updateLaf(null);
+    }
+
+    /**
+     * Updates the ui of all components in all windows.
+     *
+     * @param changedKeys the keys of the defaults which have changed since the last update. If null the
+     *        ui of every component is updated.
+     */
+    private void updateLaf(final Set<Object> changedKeys) {
+        boolean trackDependencies = UIManager.getLookAndFeelDefaults() instanceof DependencyTrackingDefaults;
         for (final Window w : Window.getWindows()) {
-            updateLafRecursively(w);
+            updateLafRecursively(w, trackDependencies, changedKeys);
         }
     }
 
-    private void updateLafRecursively(final Window window) {
+    private void updateLafRecursively(final Window window, final boolean trackDependencies,
+            final Set<Object> changedKeys) {
         for (final Window childWindow : window.getOwnedWindows()) {
-            updateLafRecursively(childWindow);
+            updateLafRecursively(childWindow, trackDependencies, changedKeys);
+        }
+        if (trackDependencies) {
+            updateComponentTreeUI(window, changedKeys);
+        } else {
+            SwingUtilities.updateComponentTreeUI(window);
+        }
+    }
+
+    /*
+     * Equivalent to SwingUtilities#updateComponentTreeUI, but only updates the ui of components depending
+     * on changed defaults.
+     */
+    private static void updateComponentTreeUI(final Component c, final Set<Object> changedKeys) {
+        updateComponentTreeUIImpl(c, changedKeys);
+        c.invalidate();
+        c.validate();
+        c.repaint();
+    }
+
+    private static void updateComponentTreeUIImpl(final Component c, final Set<Object> changedKeys) {
+        if (c instanceof JComponent) {
+            JComponent jc = (JComponent) c;
+            Set<Object> dependencies = DefaultsDependencies.getDependencies(jc.getClass());
+            if (changedKeys == null || dependencies == null
+                    || DefaultsDependencies.intersects(dependencies, changedKeys)) {
+                DefaultsDependencies.updateUI(jc);
+            }
+            JPopupMenu popupMenu = jc.getComponentPopupMenu();
+            if (popupMenu != null) {
+                updateComponentTreeUI(popupMenu, changedKeys);
+            }
+        }
+        Component[] children = null;
+        if (c instanceof JMenu) {
+            children = ((JMenu) c).getMenuComponents();
+        } else if (c instanceof Container) {
+            children = ((Container) c).getComponents();
+        }
+        if (children != null) {
+            for (Component child : children) {
+                updateComponentTreeUIImpl(child, changedKeys);
+            }
         }
-        SwingUtilities.updateComponentTreeUI(window);
     }
 
     void notifyThemeInstalled(final Theme newTheme) {
@@ -21,18 +21,47 @@
 package com.github.weisj.darklaf.components;
 
 import java.awt.event.ActionEvent;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.graphics.AnimationClock;
+import com.github.weisj.darklaf.graphics.FrameRepaintScheduler;
 import com.github.weisj.darklaf.properties.icons.RotatableIcon;
-import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.Alignment;
 
+/**
+ * Rotates an icon in fixed steps. Although this is a {@link Timer} the steps are driven by the
+ * {@link AnimationClock} such that they are painted together with other running animations. No steps
+ * are taken while the parent isn't visible. If the parent is removed from its window the animator keeps
+ * running and continues once the parent is displayed again.
+ */
 public class RotatableIconAnimator extends Timer {
 
     private final RotatableIcon icon;
     private final JComponent parent;
     private final int frameCount;
+    private final AnimationClock.FrameCallback frameCallback = new AnimationClock.FrameCallback() {
+        @Override
+        public void onFrame(final long frameTimeNanos) {
+            RotatableIconAnimator.this.onFrame(frameTimeNanos);
+        }
+
+        @Override
+        public void onStopped() {
+            running = false;
+        }
+
+        @Override
+        public void onTargetRemoved() {
+            if (running) awaitDisplay();
+        }
+    };
+    private final HierarchyListener displayListener = this::onParentHierarchyChanged;
+    private volatile boolean running;
+    private long nextStepNanos;
     private int frame;
 
     public RotatableIconAnimator(final RotatableIcon icon, final JComponent parent) {
@@ -53,6 +82,49 @@ public class RotatableIconAnimator extends Timer {
         if (!isRunning()) start();
     }
 
+    @Override
+    public void start() {
+        if (running) return;
+        nextStepNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getInitialDelay());
+        running = true;
+        AnimationClock.register(frameCallback, parent);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        AnimationClock.unregister(frameCallback);
+        if (parent != null) parent.removeHierarchyListener(displayListener);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void awaitDisplay() {
+        if (parent.isDisplayable()) {
+            AnimationClock.register(frameCallback, parent);
+        } else {
+            parent.addHierarchyListener(displayListener);
+        }
+    }
+
+    private void onParentHierarchyChanged(final HierarchyEvent e) {
+        if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) == 0 || !parent.isDisplayable()) return;
+        parent.removeHierarchyListener(displayListener);
+        if (running) AnimationClock.register(frameCallback, parent);
+    }
+
+    private void onFrame(final long frameTimeNanos) {
+        if (!running || frameTimeNanos < nextStepNanos) return;
+        nextStepNanos = frameTimeNanos + TimeUnit.MILLISECONDS.toNanos(getDelay());
+        if (!isRepeats()) stop();
+        fireActionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, getActionCommand(),
+                System.currentTimeMillis(), 0));
+    }
+
     public void onAction(final ActionEvent e) {
         icon.setRotation(Math.PI * 2 * ((double) frame / frameCount));
         repaint();
@@ -60,7 +132,8 @@ public class RotatableIconAnimator extends Timer {
     }
 
     protected void repaint() {
-        DarkUIUtil.repaint(getParent());
+        JComponent c = getParent();
+        if (c != null && c.isVisible()) FrameRepaintScheduler.repaint(c);
     }
 
     public JComponent getParent() {
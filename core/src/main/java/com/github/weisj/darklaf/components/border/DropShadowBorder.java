@@ -24,9 +24,6 @@ import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.*;
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 import javax.swing.border.Border;
@@ -34,6 +31,10 @@ import javax.swing.border.Border;
 import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.Disposable;
 import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.cache.BoundedCache;
+import com.github.weisj.darklaf.util.cache.Cache;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
 
 /**
  * Implements a DropShadow for components. In general, the DropShadowBorder will work with any
@@ -48,15 +49,18 @@ import com.github.weisj.darklaf.util.ImageUtil;
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation, {@code
  * DropShadowBorder} keeps internal static cache that allows sharing same border for multiple
- * re-rendering and between different instances of the class. Since this cache is shared at class
- * level and never reset, it might bleed your app memory in case you tend to create many borders
- * rapidly.
+ * re-rendering and between different instances of the class. The shadows are rendered at the
+ * resolution of the device they are painted on. The cache is bounded and evicts the least recently
+ * used shadows.
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<ImageHashKey, BufferedImage[]> CACHE = new HashMap<>();
+    // Bounds the estimated size of all cached shadow images in bytes.
+    private static final long MAX_CACHE_WEIGHT = 4 * 1024 * 1024;
+    private static final Cache<ImageHashKey, ShadowImages> CACHE =
+            new BoundedCache<>(MAX_CACHE_WEIGHT, (key, value) -> value.estimateBytes());
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -81,8 +85,8 @@ public class DropShadowBorder implements Border, Serializable {
     @Override
     public void paintBorder(final Component c, final Graphics graphics, final int x, final int y, final int width,
             final int height) {
-        final BufferedImage[] images = getImages();
         final Graphics2D g2 = (Graphics2D) graphics.create();
+        final BufferedImage[] images = getImages(Scale.getScaleX(g2), Scale.getScaleY(g2));
 
         try (Disposable ignored = g2::dispose) {
             // The location and size of the shadows depends on which shadows are being
@@ -139,86 +143,147 @@ public class DropShadowBorder implements Border, Serializable {
         return getCornerSize() + getShadowSize();
     }
 
-    private BufferedImage[] getImages() {
+    private BufferedImage[] getImages(final double scaleX, final double scaleY) {
         // first, check to see if an image for this size has already been rendered
         // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity));
-        if (images == null) {
-            images = new BufferedImage[Position.count()];
-
-            /*
-             * To draw a drop shadow, I have to:
-             *
-             * 1) Create a rounded rectangle
-             *
-             * 2) Create a BufferedImage to draw the rounded rect in
-             *
-             * 3) Translate the graphics for the image, so that the rectangle is centered in the drawn space.
-             * The border around the rectangle needs to be shadowWidth wide, so that there is space for the
-             * shadow to be drawn.
-             *
-             * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
-             *
-             * 5) Create the BLUR_KERNEL
-             *
-             * 6) Blur the image
-             *
-             * 7) copy off the corners, sides, etc. into images to be used for drawing the Border
-             */
-            int rectArc = shadowSize + cornerSize;
-            int rectWidth = 2 * rectArc + 1;
-            RoundRectangle2D rect = new RoundRectangle2D.Double(
-                    0, 0, rectWidth, rectWidth, rectArc, rectArc);
-            final int kernelSize = (3 * shadowSize) / 4;
-            final int imageSize = rectWidth + 2 * kernelSize;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageSize, imageSize);
-            Graphics2D buffer = (Graphics2D) image.getGraphics();
-
-            try (Disposable ignored = buffer::dispose) {
-                buffer.setPaint(ColorUtil.toAlpha(shadowColor, shadowOpacity));
-                double offset = (imageSize - rectWidth) / 2.0;
-                buffer.translate(offset, offset);
-                buffer.fill(rect);
-            }
-
-            float blurry = 1.0f / (float) (kernelSize * kernelSize);
-            float[] blurKernel = new float[kernelSize * kernelSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(kernelSize, kernelSize, blurKernel));
+        ImageHashKey key = new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity, scaleX, scaleY);
+        ShadowImages shadowImages = CACHE.get(key);
+        if (shadowImages == null) {
+            shadowImages = new ShadowImages(createImages(scaleX, scaleY));
+            CACHE.put(key, shadowImages);
+        }
+        return shadowImages.images;
+    }
 
-            BufferedImage targetImage = blur.filter(image, null);
+    private BufferedImage[] createImages(final double scaleX, final double scaleY) {
+        BufferedImage[] images = new BufferedImage[Position.count()];
+
+        /*
+         * To draw a drop shadow, I have to:
+         *
+         * 1) Create a rounded rectangle
+         *
+         * 2) Create a BufferedImage to draw the rounded rect in. The image has the resolution of the device
+         * the shadow is painted on.
+         *
+         * 3) Translate the graphics for the image, so that the rectangle is centered in the drawn space.
+         * The border around the rectangle needs to be shadowWidth wide, so that there is space for the
+         * shadow to be drawn.
+         *
+         * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
+         *
+         * 5) Blur the alpha channel of the image
+         *
+         * 6) copy off the corners, sides, etc. into images to be used for drawing the Border
+         */
+        int rectArc = shadowSize + cornerSize;
+        int rectWidth = 2 * rectArc + 1;
+        RoundRectangle2D rect = new RoundRectangle2D.Double(
+                0, 0, rectWidth, rectWidth, rectArc, rectArc);
+        final int kernelSize = (3 * shadowSize) / 4;
+        final int imageSize = rectWidth + 2 * kernelSize;
+        int imageWidth = scaled(imageSize, scaleX);
+        int imageHeight = scaled(imageSize, scaleY);
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D buffer = image.createGraphics();
+
+        try (Disposable ignored = buffer::dispose) {
+            buffer.scale(imageWidth / (double) imageSize, imageHeight / (double) imageSize);
+            buffer.setPaint(ColorUtil.toAlpha(shadowColor, shadowOpacity));
+            double offset = (imageSize - rectWidth) / 2.0;
+            buffer.translate(offset, offset);
+            buffer.fill(rect);
+        }
 
-            int cornerImageSize = cornerImageSize();
-            int sideImageSize = shadowSize;
-
-            int cornerOppositeOffset = imageSize - cornerImageSize;
-            int sideOppositeOffset = imageSize - sideImageSize;
-
-            images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage,
-                    0, 0, cornerImageSize, cornerImageSize);
-            images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage,
-                    0, cornerOppositeOffset, cornerImageSize, cornerImageSize);
-            images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage,
-                    cornerOppositeOffset, cornerOppositeOffset, cornerImageSize, cornerImageSize);
-            images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage,
-                    cornerOppositeOffset, 0, cornerImageSize, cornerImageSize);
-
-            images[Position.LEFT.ordinal()] = getSubImage(targetImage,
-                    0, cornerImageSize, sideImageSize, 1);
-            images[Position.BOTTOM.ordinal()] = getSubImage(targetImage,
-                    cornerImageSize, sideOppositeOffset, 1, sideImageSize);
-            images[Position.RIGHT.ordinal()] = getSubImage(targetImage,
-                    sideOppositeOffset, cornerImageSize, sideImageSize, 1);
-            images[Position.TOP.ordinal()] = getSubImage(targetImage,
-                    cornerImageSize, 0, 1, sideImageSize);
-
-            image.flush();
-            targetImage.flush();
-            CACHE.put(new ImageHashKey(shadowSize, cornerSize, shadowColor, shadowOpacity), images);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] alpha = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            alpha[i] = pixels[i] >>> 24;
         }
+        alpha = blur(alpha, imageWidth, imageHeight, scaled(kernelSize, scaleX), scaled(kernelSize, scaleY));
+        int rgb = shadowColor.getRGB() & 0x00FFFFFF;
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (alpha[i] << 24) | rgb;
+        }
+
+        int cornerWidth = scaled(cornerImageSize(), scaleX);
+        int cornerHeight = scaled(cornerImageSize(), scaleY);
+        int sideWidth = scaled(shadowSize, scaleX);
+        int sideHeight = scaled(shadowSize, scaleY);
+
+        int cornerOppositeX = imageWidth - cornerWidth;
+        int cornerOppositeY = imageHeight - cornerHeight;
+        int sideOppositeX = imageWidth - sideWidth;
+        int sideOppositeY = imageHeight - sideHeight;
+
+        images[Position.TOP_LEFT.ordinal()] = getSubImage(image,
+                0, 0, cornerWidth, cornerHeight);
+        images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(image,
+                0, cornerOppositeY, cornerWidth, cornerHeight);
+        images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(image,
+                cornerOppositeX, cornerOppositeY, cornerWidth, cornerHeight);
+        images[Position.TOP_RIGHT.ordinal()] = getSubImage(image,
+                cornerOppositeX, 0, cornerWidth, cornerHeight);
+
+        images[Position.LEFT.ordinal()] = getSubImage(image,
+                0, cornerHeight, sideWidth, 1);
+        images[Position.BOTTOM.ordinal()] = getSubImage(image,
+                cornerWidth, sideOppositeY, 1, sideHeight);
+        images[Position.RIGHT.ordinal()] = getSubImage(image,
+                sideOppositeX, cornerHeight, sideWidth, 1);
+        images[Position.TOP.ordinal()] = getSubImage(image,
+                cornerWidth, 0, 1, sideHeight);
+
+        image.flush();
         return images;
     }
 
+    private static int scaled(final int size, final double scale) {
+        return Math.max(1, (int) Math.round(size * scale));
+    }
+
+    /**
+     * Applies a box blur to the given values. The blur is separated into a horizontal and a vertical
+     * pass, such that the cost per pixel is linear in the kernel size. Values outside the image are
+     * treated as zero.
+     *
+     * @param values the values in row major order.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @param kernelWidth the horizontal size of the kernel.
+     * @param kernelHeight the vertical size of the kernel.
+     * @return the blurred values.
+     */
+    static int[] blur(final int[] values, final int width, final int height, final int kernelWidth,
+            final int kernelHeight) {
+        int[] horizontal = new int[values.length];
+        blurLines(values, horizontal, height, width, width, 1, kernelWidth);
+        int[] result = new int[values.length];
+        blurLines(horizontal, result, width, height, 1, width, kernelHeight);
+        return result;
+    }
+
+    private static void blurLines(final int[] src, final int[] dst, final int lineCount, final int lineLength,
+            final int lineStride, final int valueStride, final int kernelSize) {
+        // Same window as a ConvolveOp with a java.awt.image.Kernel of this size.
+        int before = kernelSize / 2;
+        int after = (kernelSize - 1) / 2;
+        for (int line = 0; line < lineCount; line++) {
+            int offset = line * lineStride;
+            int sum = 0;
+            for (int i = 0; i <= after && i < lineLength; i++) {
+                sum += src[offset + i * valueStride];
+            }
+            for (int i = 0; i < lineLength; i++) {
+                dst[offset + i * valueStride] = (sum + kernelSize / 2) / kernelSize;
+                int added = i + after + 1;
+                if (added < lineLength) sum += src[offset + added * valueStride];
+                int removed = i - before;
+                if (removed >= 0) sum -= src[offset + removed * valueStride];
+            }
+        }
+    }
+
     /**
      * Returns a new BufferedImage that represents a subregion of the given BufferedImage. (Note that
      * this method does not use BufferedImage.getSubimage(), which will defeat image acceleration
@@ -233,6 +298,14 @@ public class DropShadowBorder implements Border, Serializable {
         return ret;
     }
 
+    public static CacheStatistics getCacheStatistics() {
+        return CACHE.getStatistics();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -297,17 +370,38 @@ public class DropShadowBorder implements Border, Serializable {
         }
     }
 
+    private static final class ShadowImages {
+        private final BufferedImage[] images;
+
+        private ShadowImages(final BufferedImage[] images) {
+            this.images = images;
+        }
+
+        private long estimateBytes() {
+            long bytes = 0;
+            for (BufferedImage image : images) {
+                bytes += 4L * image.getWidth() * image.getHeight();
+            }
+            return bytes;
+        }
+    }
+
     private static final class ImageHashKey {
         private final int shadowSize;
         private final int cornerSize;
         private final Color shadowColor;
         private final float opacity;
+        private final double scaleX;
+        private final double scaleY;
 
-        private ImageHashKey(final int shadowSize, final int cornerSize, final Color shadowColor, final float opacity) {
+        private ImageHashKey(final int shadowSize, final int cornerSize, final Color shadowColor, final float opacity,
+                final double scaleX, final double scaleY) {
             this.shadowSize = shadowSize;
             this.cornerSize = cornerSize;
             this.shadowColor = shadowColor;
             this.opacity = opacity;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
         }
 
         @Override
@@ -318,12 +412,14 @@ public class DropShadowBorder implements Border, Serializable {
             return shadowSize == that.shadowSize
                     && cornerSize == that.cornerSize
                     && Float.compare(that.opacity, opacity) == 0
+                    && Double.compare(that.scaleX, scaleX) == 0
+                    && Double.compare(that.scaleY, scaleY) == 0
                     && Objects.equals(shadowColor, that.shadowColor);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(shadowSize, cornerSize, shadowColor, opacity);
+            return Objects.hash(shadowSize, cornerSize, shadowColor, opacity, scaleX, scaleY);
         }
     }
 }
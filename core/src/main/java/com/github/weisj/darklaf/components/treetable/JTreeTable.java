@@ -40,6 +40,7 @@ import com.github.weisj.darklaf.util.PropertyUtil;
 public class JTreeTable extends JTable implements TreeSelectionListener {
 
     private final TreeTableTree tree;
+    private final TreeTableModelAdapter modelAdapter;
 
     public JTreeTable(final AbstractTreeTableModel treeTableModel) {
         Logger.getGlobal().warning("JTreeTable is unstable and an experimental component");
@@ -56,10 +57,30 @@ public class JTreeTable extends JTable implements TreeSelectionListener {
         tree.addTreeSelectionListener(this);
 
         setDefaultRenderer(TreeTableModel.class, treeCellRenderer);
-        super.setModel(new TreeTableModelAdapter(treeTableModel, tree));
+        modelAdapter = new TreeTableModelAdapter(treeTableModel, tree);
+        super.setModel(modelAdapter);
         setShowHorizontalLines(false);
     }
 
+    /**
+     * Starts a bulk update of the tree. Rows expanded or collapsed until the matching call to
+     * {@link #endUpdate()} are reported to the table as a single change.
+     *
+     * @see TreeTableModelAdapter#beginUpdate()
+     */
+    public void beginUpdate() {
+        modelAdapter.beginUpdate();
+    }
+
+    /**
+     * Ends a bulk update started by {@link #beginUpdate()}.
+     *
+     * @see TreeTableModelAdapter#endUpdate()
+     */
+    public void endUpdate() {
+        modelAdapter.endUpdate();
+    }
+
     @Override
     public void doLayout() {
         super.doLayout();
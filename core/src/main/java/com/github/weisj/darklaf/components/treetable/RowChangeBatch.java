@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Accumulates structural row changes and merges them into a single changed row range. Rows before
+ * and after the range are unchanged by all recorded changes.
+ *
+ * @author Jannis Weis
+ */
+final class RowChangeBatch {
+
+    private int oldRowCount;
+    private int rowCount;
+    private int prefix;
+    private int suffix;
+
+    RowChangeBatch(final int rowCount) {
+        reset(rowCount);
+    }
+
+    void reset(final int count) {
+        oldRowCount = count;
+        rowCount = count;
+        prefix = Integer.MAX_VALUE;
+        suffix = Integer.MAX_VALUE;
+    }
+
+    boolean isEmpty() {
+        return prefix == Integer.MAX_VALUE;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Records a change relative to the rows after all previously recorded changes.
+     *
+     * @param row the first changed row.
+     * @param removed the number of rows removed at the given row.
+     * @param inserted the number of rows inserted at the given row.
+     */
+    void add(final int row, final int removed, final int inserted) {
+        if (removed == 0 && inserted == 0) return;
+        prefix = Math.min(prefix, row);
+        suffix = Math.min(suffix, rowCount - row - removed);
+        rowCount += inserted - removed;
+    }
+
+    /**
+     * Fires the minimal events describing the recorded changes. The changed range is reported as
+     * inserted or removed rows followed by an update of the rows present both before and after the
+     * changes.
+     *
+     * @param model the model to fire the events for.
+     */
+    void fire(final AbstractTableModel model) {
+        if (isEmpty()) return;
+        int removed = oldRowCount - suffix - prefix;
+        int inserted = rowCount - suffix - prefix;
+        int common = Math.min(removed, inserted);
+        if (removed > common) {
+            model.fireTableRowsDeleted(prefix + common, prefix + removed - 1);
+        } else if (inserted > common) {
+            model.fireTableRowsInserted(prefix + common, prefix + inserted - 1);
+        }
+        if (common > 0) {
+            model.fireTableRowsUpdated(prefix, prefix + common - 1);
+        }
+    }
+}
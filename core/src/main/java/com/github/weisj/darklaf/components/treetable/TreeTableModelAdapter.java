@@ -23,44 +23,156 @@ package com.github.weisj.darklaf.components.treetable;
 import javax.swing.*;
 import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.table.AbstractTableModel;
-import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 
 import com.github.weisj.darklaf.components.treetable.model.TreeTableModel;
 
+/**
+ * Table model of a {@link JTreeTable} mapping the visible rows of the tree to table rows.
+ *
+ * <p>
+ * Structural changes of the tree are not forwarded one by one. All expansions and collapses within a
+ * single event on the event dispatch thread are merged into a single changed row range, which is
+ * reported at the end of the event. Programmatic bulk changes can be wrapped in
+ * {@link #beginUpdate()} and {@link #endUpdate()} to report them once the update has finished.
+ */
 public class TreeTableModelAdapter extends AbstractTableModel {
 
     private final JTree tree;
     private final TreeTableModel treeTableModel;
+    private final RowChangeBatch batch;
+
+    private int updateDepth;
+    private boolean flushScheduled;
+    private boolean structureChanged;
+    // The row after a change whose size isn't known yet, as the tree hasn't updated its layout.
+    private int pendingRow = -1;
 
     public TreeTableModelAdapter(final TreeTableModel treeTableModel, final JTree tree) {
         this.tree = tree;
         this.treeTableModel = treeTableModel;
+        this.batch = new RowChangeBatch(tree.getRowCount());
 
         tree.addTreeExpansionListener(new TreeExpansionListener() {
             @Override
             public void treeExpanded(final TreeExpansionEvent event) {
-                TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
-                int selection = tree.getLeadSelectionRow();
-                fireTableRowsInserted(start, start + length);
-                tree.setSelectionRow(selection);
+                recordExpansionChange(event.getPath());
             }
 
             @Override
             public void treeCollapsed(final TreeExpansionEvent event) {
-                TreePath path = event.getPath();
-                int start = tree.getRowForPath(path);
-                int length = ((TreeNode) path.getLastPathComponent()).getChildCount();
-                int selection = tree.getLeadSelectionRow();
-                fireTableRowsDeleted(start, start + length);
-                tree.setSelectionRow(selection);
+                recordExpansionChange(event.getPath());
+            }
+        });
+        treeTableModel.addTreeModelListener(new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(final TreeModelEvent e) {}
+
+            @Override
+            public void treeNodesInserted(final TreeModelEvent e) {
+                recordStructureChange();
+            }
+
+            @Override
+            public void treeNodesRemoved(final TreeModelEvent e) {
+                recordStructureChange();
+            }
+
+            @Override
+            public void treeStructureChanged(final TreeModelEvent e) {
+                recordStructureChange();
+            }
+        });
+    }
+
+    /**
+     * Starts a bulk update. Structural changes of the tree are collected until the matching call to
+     * {@link #endUpdate()}. Calls may be nested.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a bulk update started by {@link #beginUpdate()}. If this ends the outermost update all
+     * collected changes are reported immediately.
+     */
+    public void endUpdate() {
+        if (updateDepth == 0) throw new IllegalStateException("endUpdate called without matching beginUpdate");
+        updateDepth--;
+        if (updateDepth == 0) flushChanges();
+    }
+
+    public boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
+    private void recordExpansionChange(final TreePath path) {
+        resolvePendingChange();
+        int row = tree.getRowForPath(path);
+        int childCount = treeTableModel.getChildCount(path.getLastPathComponent());
+        if (row >= 0 && childCount > 0) {
+            /*
+             * Depending on the order of the listeners the tree may not have updated its rows yet. As a node
+             * with children always changes the row count, the change is resolved later in this case.
+             */
+            int rowCount = tree.getRowCount();
+            if (rowCount != batch.getRowCount()) {
+                recordRowChange(row + 1, rowCount);
+            } else {
+                pendingRow = row + 1;
             }
+        }
+        scheduleFlush();
+    }
+
+    private void recordStructureChange() {
+        structureChanged = true;
+        scheduleFlush();
+    }
+
+    private void resolvePendingChange() {
+        if (pendingRow >= 0) {
+            recordRowChange(pendingRow, tree.getRowCount());
+            pendingRow = -1;
+        }
+    }
+
+    private void recordRowChange(final int row, final int newRowCount) {
+        int delta = newRowCount - batch.getRowCount();
+        if (delta > 0) {
+            batch.add(row, 0, delta);
+        } else {
+            batch.add(row, -delta, 0);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (updateDepth > 0 || flushScheduled) return;
+        flushScheduled = true;
+        SwingUtilities.invokeLater(() -> {
+            flushScheduled = false;
+            if (updateDepth == 0) flushChanges();
         });
     }
 
+    private void flushChanges() {
+        resolvePendingChange();
+        if (!structureChanged && batch.isEmpty()) return;
+        int selection = tree.getLeadSelectionRow();
+        if (structureChanged) {
+            fireTableDataChanged();
+        } else {
+            batch.fire(this);
+        }
+        structureChanged = false;
+        batch.reset(tree.getRowCount());
+        tree.setSelectionRow(selection);
+    }
+
     @Override
     public int getColumnCount() {
         return treeTableModel.getColumnCount();
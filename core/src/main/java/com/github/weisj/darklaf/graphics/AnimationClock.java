@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowStateListener;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * The clock driving all animations. While there are registered callbacks the clock ticks once per
+ * frame and dispatches the frame to all callbacks in a single event on the event dispatch thread.
+ * Hence all running animations advance in the same frame. Their repaints are painted together at the
+ * end of the frame by the {@link FrameRepaintScheduler}.
+ *
+ * <p>Callbacks registered for a target component are suspended while the component isn't showing
+ * or its window is iconified. If the component is removed from its hierarchy the callback is
+ * unregistered. In power saver mode the frame rate is reduced.
+ *
+ * @author Jannis Weis
+ */
+public final class AnimationClock {
+
+    /**
+     * Receives the frames of the {@link AnimationClock}.
+     */
+    public interface FrameCallback {
+
+        /**
+         * Called on the event dispatch thread once per frame as long as the callback is registered.
+         *
+         * @param frameTimeNanos the time of the frame as given by {@link System#nanoTime()}.
+         */
+        void onFrame(long frameTimeNanos);
+
+        /**
+         * Called on the event dispatch thread if the callback is suspended or resumed because the
+         * visibility of its target component changed.
+         *
+         * @param visible whether the target is visible.
+         */
+        default void onVisibilityChanged(final boolean visible) {}
+
+        /**
+         * Called on the event dispatch thread if the clock stopped delivering frames to the callback on
+         * its own e.g. because {@link #onFrame(long)} failed. The callback isn't registered anymore.
+         */
+        default void onStopped() {}
+
+        /**
+         * Called on the event dispatch thread if the target component was removed from its hierarchy
+         * and won't become visible again. The callback isn't registered anymore and should finish its
+         * animation. By default {@link #onStopped()} is called.
+         */
+        default void onTargetRemoved() {
+            onStopped();
+        }
+    }
+
+    public static final String POWER_SAVER_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "animationPowerSaver";
+
+    private static final Logger LOGGER = LogUtil.getLogger(AnimationClock.class);
+    private static final int FRAME_RATE = 60;
+    private static final int POWER_SAVER_FRAME_RATE = 30;
+
+    private static final ScheduledExecutorService scheduler = createScheduler();
+    private static final Set<FrameCallback> callbacks = new LinkedHashSet<>();
+    private static final Map<FrameCallback, VisibilityTracker> trackers = new HashMap<>();
+    private static final AtomicBoolean frameScheduled = new AtomicBoolean(false);
+    private static final LongAdder frameCount = new LongAdder();
+    private static final FrameTimingProbe probe = new FrameTimingProbe();
+    private static ScheduledFuture<?> ticker;
+    private static boolean dispatchingFrame;
+    private static boolean powerSaverEnabled = PropertyUtil.getSystemFlag(POWER_SAVER_FLAG, false);
+
+    private AnimationClock() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Registers the callback to receive frames. Registering a callback which is already registered
+     * has no effect.
+     *
+     * @param callback the callback.
+     */
+    public static void register(final FrameCallback callback) {
+        register(callback, null);
+    }
+
+    /**
+     * Registers the callback to receive frames while the target is visible. Registering a callback
+     * which is already registered has no effect.
+     *
+     * @param callback the callback.
+     * @param target the component the callback animates or null if it should always receive frames.
+     */
+    public static void register(final FrameCallback callback, final Component target) {
+        if (target == null) {
+            synchronized (callbacks) {
+                if (trackers.containsKey(callback)) return;
+                if (callbacks.add(callback)) startTicker();
+            }
+            return;
+        }
+        VisibilityTracker tracker = new VisibilityTracker(callback, target);
+        synchronized (callbacks) {
+            if (callbacks.contains(callback) || trackers.containsKey(callback)) return;
+            trackers.put(callback, tracker);
+        }
+        // Listeners are installed outside the lock as hierarchy events are dispatched holding the tree lock.
+        tracker.install();
+        synchronized (callbacks) {
+            if (trackers.get(callback) == tracker) return;
+        }
+        // The callback has been unregistered while the listeners were installed.
+        tracker.uninstall();
+    }
+
+    /**
+     * Stops delivering frames to the callback. The clock stops ticking if no callbacks are left.
+     *
+     * @param callback the callback.
+     */
+    public static void unregister(final FrameCallback callback) {
+        VisibilityTracker tracker;
+        synchronized (callbacks) {
+            tracker = trackers.remove(callback);
+            if (callbacks.remove(callback) && callbacks.isEmpty()) stopTicker();
+        }
+        if (tracker != null) tracker.uninstall();
+    }
+
+    public static boolean isRegistered(final FrameCallback callback) {
+        synchronized (callbacks) {
+            return callbacks.contains(callback) || trackers.containsKey(callback);
+        }
+    }
+
+    /**
+     * Returns whether the callback currently receives frames i.e. it is registered and not suspended.
+     *
+     * @param callback the callback.
+     * @return true if the callback is active.
+     */
+    public static boolean isActive(final FrameCallback callback) {
+        synchronized (callbacks) {
+            return callbacks.contains(callback);
+        }
+    }
+
+    public static int getFrameRate() {
+        return powerSaverEnabled ? POWER_SAVER_FRAME_RATE : FRAME_RATE;
+    }
+
+    /**
+     * Sets whether the power saver mode is enabled. In power saver mode the clock runs at a reduced
+     * frame rate.
+     *
+     * @param enabled true if enabled.
+     */
+    public static void setPowerSaverEnabled(final boolean enabled) {
+        synchronized (callbacks) {
+            if (powerSaverEnabled == enabled) return;
+            powerSaverEnabled = enabled;
+            if (ticker != null) {
+                stopTicker();
+                startTicker();
+            }
+        }
+    }
+
+    public static boolean isPowerSaverEnabled() {
+        return powerSaverEnabled;
+    }
+
+    /**
+     * Returns the number of frames which have been dispatched to the callbacks.
+     *
+     * @return the number of frames.
+     */
+    public static long getFrameCount() {
+        return frameCount.sum();
+    }
+
+    /**
+     * Returns whether a frame is currently dispatched to the callbacks. Must be called on the event
+     * dispatch thread.
+     *
+     * @return true if called while dispatching a frame.
+     */
+    static boolean isDispatchingFrame() {
+        return dispatchingFrame;
+    }
+
+    /**
+     * Returns the probe measuring the frames delivered by the clock.
+     *
+     * @return the probe.
+     */
+    public static FrameTimingProbe getFrameTimingProbe() {
+        return probe;
+    }
+
+    private static void startTicker() {
+        if (ticker != null) return;
+        probe.restart();
+        long period = TimeUnit.SECONDS.toNanos(1) / getFrameRate();
+        ticker = scheduler.scheduleAtFixedRate(AnimationClock::tick, 0, period, TimeUnit.NANOSECONDS);
+    }
+
+    private static void stopTicker() {
+        if (ticker == null) return;
+        ticker.cancel(false);
+        ticker = null;
+    }
+
+    private static void setSuspended(final VisibilityTracker tracker, final boolean suspended) {
+        synchronized (callbacks) {
+            if (trackers.get(tracker.callback) != tracker) return;
+            if (suspended) {
+                if (callbacks.remove(tracker.callback) && callbacks.isEmpty()) stopTicker();
+            } else {
+                if (callbacks.add(tracker.callback)) startTicker();
+            }
+        }
+    }
+
+    private static void tick() {
+        // Skip the frame if the previous one hasn't been dispatched yet.
+        if (frameScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(AnimationClock::dispatchFrame);
+        } else {
+            probe.recordDroppedFrame();
+        }
+    }
+
+    private static void dispatchFrame() {
+        frameScheduled.set(false);
+        FrameCallback[] current;
+        synchronized (callbacks) {
+            current = callbacks.toArray(new FrameCallback[0]);
+        }
+        if (current.length == 0) return;
+        frameCount.increment();
+        long frameTime = System.nanoTime();
+        probe.recordFrame(frameTime);
+        dispatchingFrame = true;
+        try {
+            for (FrameCallback callback : current) {
+                try {
+                    callback.onFrame(frameTime);
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Animation frame failed. The animation will be stopped.", e);
+                    unregister(callback);
+                    notifyStopped(callback);
+                }
+            }
+        } finally {
+            dispatchingFrame = false;
+        }
+        FrameRepaintScheduler.flush();
+    }
+
+    private static void notifyStopped(final FrameCallback callback) {
+        try {
+            callback.onStopped();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Stopping the animation failed.", e);
+        }
+    }
+
+    private static void removeTarget(final VisibilityTracker tracker) {
+        synchronized (callbacks) {
+            if (trackers.get(tracker.callback) != tracker) return;
+            trackers.remove(tracker.callback);
+            if (callbacks.remove(tracker.callback) && callbacks.isEmpty()) stopTicker();
+        }
+        tracker.uninstall();
+        try {
+            tracker.callback.onTargetRemoved();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Finishing the animation failed.", e);
+        }
+    }
+
+    private static final class VisibilityTracker implements HierarchyListener, WindowStateListener {
+
+        private final FrameCallback callback;
+        private final Component target;
+        private Window window;
+        private boolean visible;
+
+        private VisibilityTracker(final FrameCallback callback, final Component target) {
+            this.callback = callback;
+            this.target = target;
+        }
+
+        private void install() {
+            target.addHierarchyListener(this);
+            setWindow(SwingUtilities.getWindowAncestor(target));
+            visible = isTargetVisible();
+            setSuspended(this, !visible);
+        }
+
+        private void uninstall() {
+            target.removeHierarchyListener(this);
+            setWindow(null);
+        }
+
+        private void setWindow(final Window w) {
+            if (window == w) return;
+            if (window != null) window.removeWindowStateListener(this);
+            window = w;
+            if (window != null) window.addWindowStateListener(this);
+        }
+
+        private boolean isTargetVisible() {
+            if (!target.isShowing()) return false;
+            return !(window instanceof Frame) || (((Frame) window).getExtendedState() & Frame.ICONIFIED) == 0;
+        }
+
+        private void update() {
+            boolean isVisible = isTargetVisible();
+            if (isVisible == visible) return;
+            visible = isVisible;
+            setSuspended(this, !isVisible);
+            callback.onVisibilityChanged(isVisible);
+        }
+
+        @Override
+        public void hierarchyChanged(final HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+                setWindow(SwingUtilities.getWindowAncestor(target));
+            }
+            if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.SHOWING_CHANGED)) != 0) {
+                update();
+            }
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !target.isDisplayable()) {
+                // Check later as the target may only be moved to another parent.
+                SwingUtilities.invokeLater(this::checkRemoved);
+            }
+        }
+
+        private void checkRemoved() {
+            if (!target.isDisplayable()) removeTarget(this);
+        }
+
+        @Override
+        public void windowStateChanged(final WindowEvent e) {
+            update();
+        }
+    }
+
+    @SuppressWarnings("ThreadPriorityCheck")
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "Animations Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+}
@@ -20,11 +20,7 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
@@ -51,13 +47,9 @@ public abstract class Animator {
     }
 
     public static final String ANIMATIONS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "animations";
-    private static final ScheduledExecutorService scheduler = createScheduler();
+    public static final String TIME_BASED_ANIMATIONS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "timeBasedAnimations";
     private static final int DEFAULT_FPS = 60;
 
-    static ScheduledExecutorService scheduler() {
-        return scheduler;
-    }
-
     private final long animationDurationMillis;
     private final long delayMillis;
     private final int fps;
@@ -66,8 +58,34 @@ public abstract class Animator {
     private Interpolator interpolator;
     private boolean reverse = false;
 
-    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
-    private ScheduledFuture<?> ticker;
+    private final AnimationClock.FrameCallback frameCallback = new AnimationClock.FrameCallback() {
+        @Override
+        public void onFrame(final long frameTimeNanos) {
+            Animator.this.onFrame(frameTimeNanos);
+        }
+
+        @Override
+        public void onVisibilityChanged(final boolean visible) {
+            // Continue where the animation was suspended.
+            if (visible) lastTickNanos = System.nanoTime();
+        }
+
+        @Override
+        public void onStopped() {
+            running = false;
+        }
+
+        @Override
+        public void onTargetRemoved() {
+            finish();
+        }
+    };
+    private volatile boolean running;
+    private long startTimeNanos;
+    private long lastTickNanos;
+    private boolean timeBased = PropertyUtil.getSystemFlag(TIME_BASED_ANIMATIONS_FLAG, false);
+    private int framesPerTick;
+    private int frameCounter;
 
     private double fraction;
     private double fractionDelta;
@@ -112,6 +130,21 @@ public abstract class Animator {
         this.enabled = enabled;
     }
 
+    /**
+     * Sets whether the progress of the animation is computed from the elapsed time. Otherwise the
+     * animation advances by a fixed amount on every frame, which stretches the animation if frames are
+     * dropped.
+     *
+     * @param timeBased true if the progress should be time based.
+     */
+    public void setTimeBased(final boolean timeBased) {
+        this.timeBased = timeBased;
+    }
+
+    public boolean isTimeBased() {
+        return timeBased;
+    }
+
     public void setReverse(final boolean reverse) {
         this.reverse = reverse;
     }
@@ -129,7 +162,7 @@ public abstract class Animator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
     }
 
     public double currentState() {
@@ -191,7 +224,7 @@ public abstract class Animator {
             stop();
             return;
         }
-        resumeAt(startFraction, skipDelay);
+        resumeAtImpl(startFraction, skipDelay, target);
     }
 
     public void resume() {
@@ -199,6 +232,10 @@ public abstract class Animator {
     }
 
     public void resumeAt(final double startFraction, final boolean skipDelay) {
+        resumeAtImpl(startFraction, skipDelay, null);
+    }
+
+    private void resumeAtImpl(final double startFraction, final boolean skipDelay, final JComponent target) {
         if (startFraction < 0 || startFraction > 1) {
             throw new IllegalArgumentException("Starting fraction must be between 0.0 and 1.0.");
         }
@@ -208,39 +245,45 @@ public abstract class Animator {
             return;
         }
 
-        if (ticker == null) {
-            this.fractionDelta = 1f / (fps * animationDurationMillis / 1000f);
+        if (!running) {
+            // Animations with a lower frame rate only advance on every n-th frame of the clock.
+            int clockFps = AnimationClock.getFrameRate();
+            framesPerTick = Math.max(1, Math.round((float) clockFps / fps));
+            this.fractionDelta = framesPerTick / (clockFps * animationDurationMillis / 1000f);
+            frameCounter = 0;
 
             long initialDelay = skipDelay ? 0 : delayMillis;
+            startTimeNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelay);
+            lastTickNanos = startTimeNanos;
 
-            long millisPerFrame = (long) (animationDurationMillis * (fps / 1000f));
-
-            isScheduled.set(false);
-            ticker = scheduler.scheduleWithFixedDelay(() -> {
-                if (isRunning()) {
-                    if (tick()) submitAnimationFrame();
-                }
-            }, initialDelay, millisPerFrame, TimeUnit.MILLISECONDS);
-        }
-    }
-
-    private void submitAnimationFrame() {
-        if (!isScheduled.get()) {
-            isScheduled.set(true);
-            SwingUtilities.invokeLater(() -> {
-                if (isRunning()) paintAnimationFrame(interpolator.interpolate((float) fraction));
-                isScheduled.set(false);
-            });
+            running = true;
+            // The animation is suspended while the target isn't visible.
+            AnimationClock.register(frameCallback, target);
         }
     }
 
-    private boolean tick() {
+    /*
+     * Advances the animation to the given frame time. Package private so tests can supply the frame
+     * times instead of depending on the clock.
+     */
+    void onFrame(final long frameTimeNanos) {
+        if (!running || frameTimeNanos < startTimeNanos) return;
+        if (++frameCounter < framesPerTick) return;
+        frameCounter = 0;
+        double delta = timeBased
+                ? (frameTimeNanos - lastTickNanos) / (double) TimeUnit.MILLISECONDS.toNanos(animationDurationMillis)
+                : fractionDelta;
+        lastTickNanos = frameTimeNanos;
+        if (tick(delta) && running) paintAnimationFrame(interpolator.interpolate((float) fraction));
+    }
+
+    private boolean tick(final double delta) {
         final double oldFraction = fraction;
 
         if (reverse) {
-            fraction = oldFraction - fractionDelta;
+            fraction = oldFraction - delta;
         } else {
-            fraction = oldFraction + fractionDelta;
+            fraction = oldFraction + delta;
         }
 
         switch (repeatMode) {
@@ -317,15 +360,29 @@ public abstract class Animator {
         fraction = reverse ? 1 : 0;
     }
 
+    /*
+     * Jumps to the state the animation would end in.
+     */
+    private void finish() {
+        if (!running) return;
+        if (repeatMode == RepeatMode.DO_NOT_REPEAT_FREEZE) {
+            fraction = reverse ? 0 : 1;
+            paintAnimationFrame(interpolator.interpolate((float) fraction));
+            pause();
+        } else {
+            stop();
+        }
+    }
+
     /**
      * Pauses the animation. Can be resumed.
      *
      * @return true if the animation was running
      */
     public boolean pause() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            AnimationClock.unregister(frameCallback);
             return true;
         }
         return false;
@@ -334,17 +391,4 @@ public abstract class Animator {
     protected abstract void paintAnimationFrame(float fraction);
 
     protected void onAnimationFinished() {}
-
-    @SuppressWarnings("ThreadPriorityCheck")
-    private static ScheduledExecutorService createScheduler() {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
-            final Thread thread = new Thread(r, "Animations Thread");
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MAX_PRIORITY);
-            return thread;
-        });
-        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
-        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        return executor;
-    }
 }
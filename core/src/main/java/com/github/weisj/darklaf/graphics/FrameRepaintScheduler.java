@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.*;
+
+/**
+ * Paints the repaints requested by animations at the end of each frame. Repaints requested while the
+ * {@link AnimationClock} dispatches a frame are merged per component and painted right after all
+ * animations have advanced, within the same event. Hence a frame is on screen before any other event
+ * is processed rather than waiting for the next pass of the {@link RepaintManager}. Outside of a frame
+ * the repaint is handed to the {@link RepaintManager} as usual.
+ *
+ * @author Jannis Weis
+ */
+public final class FrameRepaintScheduler {
+
+    private static final Map<JComponent, Rectangle> dirtyRegions = new LinkedHashMap<>();
+
+    private FrameRepaintScheduler() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void repaint(final JComponent c) {
+        if (c == null) return;
+        repaint(c, 0, 0, c.getWidth(), c.getHeight());
+    }
+
+    public static void repaint(final JComponent c, final Rectangle r) {
+        repaint(c, r.x, r.y, r.width, r.height);
+    }
+
+    /**
+     * Repaints the given region of the component. If called from an animation frame the region is
+     * painted at the end of the frame. Otherwise this is equivalent to
+     * {@link JComponent#repaint(int, int, int, int)}.
+     *
+     * @param c the component.
+     * @param x the x coordinate of the region.
+     * @param y the y coordinate of the region.
+     * @param width the width of the region.
+     * @param height the height of the region.
+     */
+    public static void repaint(final JComponent c, final int x, final int y, final int width, final int height) {
+        if (c == null || width <= 0 || height <= 0) return;
+        if (!AnimationClock.isDispatchingFrame() || !SwingUtilities.isEventDispatchThread()) {
+            c.repaint(x, y, width, height);
+            return;
+        }
+        Rectangle dirty = dirtyRegions.get(c);
+        if (dirty == null) {
+            dirtyRegions.put(c, new Rectangle(x, y, width, height));
+        } else {
+            dirty.add(new Rectangle(x, y, width, height));
+        }
+    }
+
+    static Rectangle getDirtyRegion(final JComponent c) {
+        return dirtyRegions.get(c);
+    }
+
+    /**
+     * Paints all regions collected during the current frame. Other regions already marked as dirty in
+     * the {@link RepaintManager} are painted in the same pass.
+     */
+    static void flush() {
+        if (dirtyRegions.isEmpty()) return;
+        Set<RepaintManager> managers = new LinkedHashSet<>();
+        for (Map.Entry<JComponent, Rectangle> entry : dirtyRegions.entrySet()) {
+            JComponent c = entry.getKey();
+            if (!c.isShowing()) continue;
+            Rectangle r = entry.getValue();
+            RepaintManager manager = RepaintManager.currentManager(c);
+            manager.addDirtyRegion(c, r.x, r.y, r.width, r.height);
+            managers.add(manager);
+        }
+        dirtyRegions.clear();
+        for (RepaintManager manager : managers) {
+            manager.paintDirtyRegions();
+        }
+    }
+}
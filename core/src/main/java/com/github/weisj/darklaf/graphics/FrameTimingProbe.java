@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the frames actually delivered by the {@link AnimationClock}. The frame rate and frame
+ * times are computed over the most recent frames.
+ *
+ * @author Jannis Weis
+ */
+public final class FrameTimingProbe {
+
+    private static final int WINDOW_SIZE = 120;
+
+    private final long[] intervals = new long[WINDOW_SIZE];
+    private final LongAdder droppedFrames = new LongAdder();
+    private int count;
+    private int index;
+    private long lastFrameNanos = -1;
+
+    FrameTimingProbe() {}
+
+    synchronized void recordFrame(final long frameTimeNanos) {
+        if (lastFrameNanos >= 0) {
+            intervals[index] = frameTimeNanos - lastFrameNanos;
+            index = (index + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+        lastFrameNanos = frameTimeNanos;
+    }
+
+    void recordDroppedFrame() {
+        droppedFrames.increment();
+    }
+
+    /**
+     * Marks the start of a new sequence of frames. The time until the first frame of the sequence
+     * isn't counted as a frame interval.
+     */
+    synchronized void restart() {
+        lastFrameNanos = -1;
+    }
+
+    /**
+     * Returns the number of frames per second delivered over the most recent frames.
+     *
+     * @return the frame rate or 0 if not enough frames have been delivered.
+     */
+    public synchronized double getFramesPerSecond() {
+        long total = totalNanos();
+        return total > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / total : 0;
+    }
+
+    public synchronized double getAverageFrameTimeMillis() {
+        return count > 0 ? toMillis(totalNanos()) / count : 0;
+    }
+
+    public synchronized double getMaxFrameTimeMillis() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, intervals[i]);
+        }
+        return toMillis(max);
+    }
+
+    /**
+     * Returns the number of clock ticks which have been dropped because the event dispatch thread
+     * hadn't processed the previous frame yet.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrames.sum();
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        index = 0;
+        lastFrameNanos = -1;
+        droppedFrames.reset();
+    }
+
+    private long totalNanos() {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += intervals[i];
+        }
+        return total;
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FrameTimingProbe{fps=%.1f, avg=%.2fms, max=%.2fms, dropped=%d}",
+                getFramesPerSecond(), getAverageFrameTimeMillis(), getMaxFrameTimeMillis(),
+                getDroppedFrameCount());
+    }
+}
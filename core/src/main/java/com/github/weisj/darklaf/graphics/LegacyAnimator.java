@@ -20,9 +20,7 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
@@ -38,11 +36,43 @@ public abstract class LegacyAnimator {
 
     private Interpolator interpolator;
 
-    private ScheduledFuture<?> ticker;
+    private final AnimationClock.FrameCallback frameCallback = new AnimationClock.FrameCallback() {
+        @Override
+        public void onFrame(final long frameTimeNanos) {
+            LegacyAnimator.this.onFrame(frameTimeNanos);
+        }
+
+        @Override
+        public void onVisibilityChanged(final boolean visible) {
+            if (visible) {
+                // Continue where the animation was suspended.
+                if (startTime != -1) {
+                    long hiddenDuration = System.currentTimeMillis() - suspendTime;
+                    startTime += hiddenDuration;
+                    stopTime += hiddenDuration;
+                }
+            } else {
+                suspendTime = System.currentTimeMillis();
+            }
+        }
+
+        @Override
+        public void onStopped() {
+            running = false;
+        }
+
+        @Override
+        public void onTargetRemoved() {
+            if (running) stopAnimation();
+        }
+    };
+    private volatile boolean running;
+    private long delayEndNanos;
     private int startFrame;
     private int currentFrame;
     private long startTime;
     private long stopTime;
+    private long suspendTime;
     private boolean enabled = true;
     private volatile boolean disposed = false;
 
@@ -90,9 +120,9 @@ public abstract class LegacyAnimator {
     }
 
     public void stopTicker() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            AnimationClock.unregister(frameCallback);
         }
     }
 
@@ -123,35 +153,34 @@ public abstract class LegacyAnimator {
             stopAnimation();
             return;
         }
-        resume(startFrame, skipDelay);
+        resumeImpl(startFrame, skipDelay, target);
     }
 
     public void resume(final int startFrame, final boolean skipDelay) {
+        resumeImpl(startFrame, skipDelay, null);
+    }
+
+    private void resumeImpl(final int startFrame, final boolean skipDelay, final JComponent target) {
         if (startFrame < 0) {
             throw new IllegalArgumentException("Starting frame must be non negative.");
         }
         if (cycleDuration == 0 || startFrame >= totalFrames || !animationsEnabled()) {
             stopAnimation();
-        } else if (ticker == null) {
+        } else if (!running) {
             this.startFrame = startFrame;
-            long initialDelay = skipDelay ? 0 : delay * 1000L;
-            ticker = Animator.scheduler().scheduleWithFixedDelay(new Runnable() {
-                final AtomicBoolean isScheduled = new AtomicBoolean(false);
-
-                @Override
-                public void run() {
-                    if (!isScheduled.get() && !isDisposed()) {
-                        isScheduled.set(true);
-                        SwingUtilities.invokeLater(() -> {
-                            onTick();
-                            isScheduled.set(false);
-                        });
-                    }
-                }
-            }, initialDelay, cycleDuration * 1000L / totalFrames, TimeUnit.MICROSECONDS);
+            long initialDelay = skipDelay ? 0 : delay;
+            delayEndNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelay);
+            running = true;
+            // The animation is suspended while the target isn't visible.
+            AnimationClock.register(frameCallback, target);
         }
     }
 
+    private void onFrame(final long frameTimeNanos) {
+        if (frameTimeNanos < delayEndNanos) return;
+        onTick();
+    }
+
     private void paint() {
         paintNow(interpolator.interpolate((float) currentFrame / totalFrames));
     }
@@ -166,7 +195,7 @@ public abstract class LegacyAnimator {
     }
 
     private void onTick() {
-        if (isDisposed() || ticker == null) return;
+        if (isDisposed() || !running) return;
 
         if (startTime == -1) {
             startTime = System.currentTimeMillis();
@@ -202,7 +231,7 @@ public abstract class LegacyAnimator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
     }
 
     public int getCurrentFrame() {
@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.weisj.darklaf.util.graphics.GraphicsContext;
+
+/**
+ * Paints rounded shapes with straight edges by stretching a pre-rasterized image of their corners and
+ * edges. The image is rasterized in device space, which makes the result identical to painting the
+ * shape directly, as long as the shape lies on the device pixel grid.
+ *
+ * @author Jannis Weis
+ */
+final class NineSlice {
+
+    static final int RING = 0;
+    static final int ROUND_RECT = 1;
+
+    private static final int MAX_ENTRIES = 256;
+    private static final double EPSILON = 1E-3;
+    private static final int SUPPORTED_TRANSFORMS = AffineTransform.TYPE_TRANSLATION
+            | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE;
+
+    private static final Map<Key, Slices> cache = Collections.synchronizedMap(
+            new LinkedHashMap<Key, Slices>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, Slices> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    interface ShapePainter {
+        void paint(Graphics2D g, float width, float height);
+    }
+
+    private NineSlice() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Paints the shape using the cached slices if possible.
+     *
+     * @param g the graphics to paint on.
+     * @param width the width of the shape.
+     * @param height the height of the shape.
+     * @param cornerSize the extent of the corners of the shape in user space.
+     * @param kind the kind of the shape.
+     * @param a the first parameter of the shape.
+     * @param b the second parameter of the shape.
+     * @param c the third parameter of the shape.
+     * @param painter the painter for the shape, used to rasterize the slices.
+     * @return true if the shape has been painted.
+     */
+    static boolean paint(final Graphics2D g, final float width, final float height, final float cornerSize,
+            final int kind, final float a, final float b, final float c, final ShapePainter painter) {
+        Paint paint = g.getPaint();
+        if (!(paint instanceof Color)) return false;
+        Composite composite = g.getComposite();
+        if (!(composite instanceof AlphaComposite)
+                || ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER) {
+            return false;
+        }
+        AffineTransform transform = g.getTransform();
+        if ((transform.getType() & ~SUPPORTED_TRANSFORMS) != 0) return false;
+        double sx = transform.getScaleX();
+        double sy = transform.getScaleY();
+        if (sx <= 0 || sy <= 0) return false;
+        double x = transform.getTranslateX();
+        double y = transform.getTranslateY();
+        double w = width * sx;
+        double h = height * sy;
+        if (!isInteger(x) || !isInteger(y) || !isInteger(w) || !isInteger(h)) return false;
+
+        int cornerWidth = (int) Math.ceil(cornerSize * sx) + 1;
+        int cornerHeight = (int) Math.ceil(cornerSize * sy) + 1;
+        int deviceWidth = (int) Math.round(w);
+        int deviceHeight = (int) Math.round(h);
+        if (deviceWidth < 2 * cornerWidth + 1 || deviceHeight < 2 * cornerHeight + 1) return false;
+
+        Key key = new Key(kind, a, b, c, ((Color) paint).getRGB(), sx, sy);
+        Slices slices = cache.get(key);
+        if (slices == null) {
+            slices = Slices.create(painter, (Color) paint, cornerWidth, cornerHeight, sx, sy);
+            cache.put(key, slices);
+        }
+        slices.paint(g, (int) Math.round(x), (int) Math.round(y), deviceWidth, deviceHeight);
+        return true;
+    }
+
+    static int size() {
+        return cache.size();
+    }
+
+    static void clear() {
+        cache.clear();
+    }
+
+    private static boolean isInteger(final double value) {
+        return Math.abs(value - Math.rint(value)) < EPSILON;
+    }
+
+    private static final class Slices {
+        private final BufferedImage image;
+        private final int cornerWidth;
+        private final int cornerHeight;
+        private final boolean hasCenter;
+
+        private Slices(final BufferedImage image, final int cornerWidth, final int cornerHeight) {
+            this.image = image;
+            this.cornerWidth = cornerWidth;
+            this.cornerHeight = cornerHeight;
+            this.hasCenter = (image.getRGB(cornerWidth, cornerHeight) >>> 24) != 0;
+        }
+
+        private static Slices create(final ShapePainter painter, final Color color, final int cornerWidth,
+                final int cornerHeight, final double sx, final double sy) {
+            int width = 2 * cornerWidth + 1;
+            int height = 2 * cornerHeight + 1;
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            g.scale(sx, sy);
+            g.setColor(color);
+            painter.paint(g, (float) (width / sx), (float) (height / sy));
+            g.dispose();
+            return new Slices(image, cornerWidth, cornerHeight);
+        }
+
+        private void paint(final Graphics2D g, final int x, final int y, final int width, final int height) {
+            GraphicsContext context = new GraphicsContext(g);
+            g.setTransform(new AffineTransform());
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            int cw = cornerWidth;
+            int ch = cornerHeight;
+            int centerWidth = width - 2 * cw;
+            int centerHeight = height - 2 * ch;
+            int right = x + width - cw;
+            int bottom = y + height - ch;
+            int srcRight = cw + 1;
+            int srcBottom = ch + 1;
+
+            // Corners
+            blit(g, x, y, cw, ch, 0, 0, cw, ch);
+            blit(g, right, y, cw, ch, srcRight, 0, cw, ch);
+            blit(g, x, bottom, cw, ch, 0, srcBottom, cw, ch);
+            blit(g, right, bottom, cw, ch, srcRight, srcBottom, cw, ch);
+            // Edges
+            blit(g, x + cw, y, centerWidth, ch, cw, 0, 1, ch);
+            blit(g, x + cw, bottom, centerWidth, ch, cw, srcBottom, 1, ch);
+            blit(g, x, y + ch, cw, centerHeight, 0, ch, cw, 1);
+            blit(g, right, y + ch, cw, centerHeight, srcRight, ch, cw, 1);
+            if (hasCenter) {
+                blit(g, x + cw, y + ch, centerWidth, centerHeight, cw, ch, 1, 1);
+            }
+            context.restore();
+        }
+
+        private void blit(final Graphics2D g, final int x, final int y, final int width, final int height,
+                final int srcX, final int srcY, final int srcWidth, final int srcHeight) {
+            g.drawImage(image, x, y, x + width, y + height, srcX, srcY, srcX + srcWidth, srcY + srcHeight, null);
+        }
+    }
+
+    private static final class Key {
+        private final int kind;
+        private final float a;
+        private final float b;
+        private final float c;
+        private final int rgb;
+        private final double sx;
+        private final double sy;
+
+        private Key(final int kind, final float a, final float b, final float c, final int rgb, final double sx,
+                final double sy) {
+            this.kind = kind;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.rgb = rgb;
+            this.sx = sx;
+            this.sy = sy;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return kind == key.kind
+                    && rgb == key.rgb
+                    && Float.compare(a, key.a) == 0
+                    && Float.compare(b, key.b) == 0
+                    && Float.compare(c, key.c) == 0
+                    && Double.compare(sx, key.sx) == 0
+                    && Double.compare(sy, key.sy) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = kind;
+            result = 31 * result + rgb;
+            result = 31 * result + Float.hashCode(a);
+            result = 31 * result + Float.hashCode(b);
+            result = 31 * result + Float.hashCode(c);
+            result = 31 * result + Double.hashCode(sx);
+            result = 31 * result + Double.hashCode(sy);
+            return result;
+        }
+    }
+}
@@ -26,12 +26,19 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.PropertyUtil;
 import com.github.weisj.darklaf.util.Scale;
 import com.github.weisj.darklaf.util.graphics.GraphicsContext;
 import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
 
 public final class PaintUtil {
 
+    /*
+     * If enabled rounded borders and backgrounds are painted from cached images of their corners and
+     * edges.
+     */
+    public static final String NINE_SLICE_CACHE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "nineSliceCache";
     public static final Color TRANSPARENT_COLOR = new Color(0x0, true);
     private static final AlphaComposite transparentComposite =
             AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.6f);
@@ -45,6 +52,16 @@ public final class PaintUtil {
     private static Color warningGlow;
 
     private static final RoundRectangle2D roundRect = new RoundRectangle2D.Double();
+    private static boolean nineSliceCacheEnabled = PropertyUtil.getSystemFlag(NINE_SLICE_CACHE_FLAG, false);
+
+    public static void setNineSliceCacheEnabled(final boolean enabled) {
+        nineSliceCacheEnabled = enabled;
+        if (!enabled) NineSlice.clear();
+    }
+
+    public static boolean isNineSliceCacheEnabled() {
+        return nineSliceCacheEnabled;
+    }
 
     public static void setGlowOpacity(final float alpha) {
         glowComposite = glowComposite.derive(alpha);
@@ -116,6 +133,23 @@ public final class PaintUtil {
 
     private static void doPaint(final Graphics2D g, final float width, final float height, final float arc,
             final float bw, final boolean inside) {
+        if (nineSliceCacheEnabled) {
+            float cornerSize = bw;
+            if (!Scale.equalWithError(arc, 0)) {
+                float outerArc = inside ? arc : arc + bw;
+                float innerArc = inside ? arc - bw : arc;
+                cornerSize = Math.max(outerArc / 2, bw + Math.max(innerArc, 0) / 2);
+            }
+            if (NineSlice.paint(g, width, height, cornerSize, NineSlice.RING, arc, bw, inside ? 1 : 0,
+                    (sliceGraphics, w, h) -> paintRing(sliceGraphics, w, h, arc, bw, inside))) {
+                return;
+            }
+        }
+        paintRing(g, width, height, arc, bw, inside);
+    }
+
+    private static void paintRing(final Graphics2D g, final float width, final float height, final float arc,
+            final float bw, final boolean inside) {
         GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
         Shape outerRect;
         Shape innerRect;
@@ -232,6 +266,20 @@ public final class PaintUtil {
 
         arcSize -= stroke;
         g.translate(lw, lw);
+        if (nineSliceCacheEnabled && arcSize > 0) {
+            float rectArc = arcSize;
+            g.translate(x, y);
+            boolean painted = NineSlice.paint(g, width - 2 * lw, height - 2 * lw, rectArc / 2,
+                    NineSlice.ROUND_RECT, rectArc, 0, 0, (sliceGraphics, w, h) -> {
+                        GraphicsUtil.setupStrokePainting(sliceGraphics);
+                        sliceGraphics.fill(new RoundRectangle2D.Float(0, 0, w, h, rectArc, rectArc));
+                    });
+            g.translate(-x, -y);
+            if (painted) {
+                context.restore();
+                return;
+            }
+        }
         roundRect.setRoundRect(x, y, width - 2 * lw, height - 2 * lw, arcSize, arcSize);
         g.fill(roundRect);
         g.translate(-lw, -lw);
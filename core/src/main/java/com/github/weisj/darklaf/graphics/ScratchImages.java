@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
+/**
+ * Per thread pool of images used as scratch buffers while painting. The images are bucketed by size,
+ * hence an acquired image may be larger than requested. Only the requested region should be used.
+ *
+ * @author Jannis Weis
+ */
+final class ScratchImages {
+
+    private static final int MIN_BUCKET_SIZE = 32;
+    // Larger images aren't pooled to bound the retained memory.
+    private static final int MAX_POOLED_PIXELS = 512 * 512;
+    private static final int MAX_POOLED_IMAGES = 4;
+
+    private static final ThreadLocal<Deque<BufferedImage>> pool = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final LongAdder reuseCount = new LongAdder();
+    private static final LongAdder allocationCount = new LongAdder();
+
+    private ScratchImages() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns an image of at least the given size. The content of the image is undefined. The image
+     * should be returned using {@link #release(BufferedImage)} once it isn't used anymore.
+     *
+     * @param width the minimum width.
+     * @param height the minimum height.
+     * @param translucent whether the image needs an alpha channel.
+     * @return the image.
+     */
+    static BufferedImage acquire(final int width, final int height, final boolean translucent) {
+        int bucketWidth = bucketSize(width);
+        int bucketHeight = bucketSize(height);
+        if ((long) bucketWidth * bucketHeight <= MAX_POOLED_PIXELS) {
+            Iterator<BufferedImage> iterator = pool.get().iterator();
+            while (iterator.hasNext()) {
+                BufferedImage image = iterator.next();
+                if (image.getWidth() == bucketWidth && image.getHeight() == bucketHeight
+                        && image.getColorModel().hasAlpha() == translucent) {
+                    iterator.remove();
+                    reuseCount.increment();
+                    return image;
+                }
+            }
+        } else {
+            bucketWidth = Math.max(1, width);
+            bucketHeight = Math.max(1, height);
+        }
+        allocationCount.increment();
+        return translucent
+                ? ImageUtil.createCompatibleTranslucentImage(bucketWidth, bucketHeight)
+                : ImageUtil.createCompatibleImage(bucketWidth, bucketHeight);
+    }
+
+    static void release(final BufferedImage image) {
+        if (image == null || (long) image.getWidth() * image.getHeight() > MAX_POOLED_PIXELS) return;
+        Deque<BufferedImage> images = pool.get();
+        images.addFirst(image);
+        if (images.size() > MAX_POOLED_IMAGES) images.removeLast().flush();
+    }
+
+    static CacheStatistics getStatistics() {
+        return new CacheStatistics(reuseCount.sum(), allocationCount.sum(), 0, 0);
+    }
+
+    private static int bucketSize(final int size) {
+        int s = Math.max(MIN_BUCKET_SIZE, size);
+        int bucket = Integer.highestOneBit(s);
+        return bucket == s ? s : bucket << 1;
+    }
+}
@@ -22,9 +22,8 @@ package com.github.weisj.darklaf.graphics;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.awt.image.FilteredImageSource;
-import java.awt.image.ImageFilter;
 import java.lang.reflect.Field;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +37,7 @@ import com.github.weisj.darklaf.ui.OpacityBufferedUI;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.*;
 import com.github.weisj.darklaf.util.ColorUtil;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
 import com.github.weisj.darklaf.util.graphics.GraphicsContext;
 import com.github.weisj.darklaf.util.graphics.GraphicsUtil;
 
@@ -48,6 +48,9 @@ public final class StringPainter {
     private static boolean translucentAAPaintingEnabled = true;
     private static boolean experimentalAntialiasingEnabled = false;
 
+    private static final LongAdder bufferedStringPaintCount = new LongAdder();
+    private static final LongAdder opacityBufferedPaintCount = new LongAdder();
+
     private StringPainter() {}
 
     public static void setExperimentalAntialiasingEnabled(final boolean enabled) {
@@ -66,6 +69,36 @@ public final class StringPainter {
         return experimentalAntialiasingEnabled;
     }
 
+    /**
+     * Returns how often text has been painted to an offscreen buffer to support sub-pixel antialiasing
+     * on translucent backgrounds.
+     *
+     * @return the number of buffered text paints.
+     */
+    public static long getBufferedStringPaintCount() {
+        return bufferedStringPaintCount.sum();
+    }
+
+    /**
+     * Returns how often a component has been painted using
+     * {@link #paintOpacityBuffered(Graphics, JComponent, OpacityBufferedUI)}.
+     *
+     * @return the number of opacity buffered paints.
+     */
+    public static long getOpacityBufferedPaintCount() {
+        return opacityBufferedPaintCount.sum();
+    }
+
+    /**
+     * Returns the statistics of the scratch images used for buffered painting. A hit corresponds to a
+     * reused image and a miss to a newly allocated one.
+     *
+     * @return the statistics.
+     */
+    public static CacheStatistics getScratchImageStatistics() {
+        return ScratchImages.getStatistics();
+    }
+
     public static <T extends JComponent> void drawString(final Graphics g, final T c, final String text,
             final Rectangle textRect) {
         drawString(g, c, text, textRect, SwingUtil.getFontMetrics(c, g));
@@ -124,6 +157,8 @@ public final class StringPainter {
         Graphics2D drawingGraphics = (Graphics2D) g;
         BufferedImage img = null; // Only needed for translucent AA painting.
         Point textPos = null; // Only needed for experimental algorithm.
+        int imgWidth = 0;
+        int imgHeight = 0;
 
         Color fgColor = g.getColor();
         Color bgColor = background;
@@ -159,9 +194,11 @@ public final class StringPainter {
                 bgColor = brightness > 127 ? Color.BLACK : Color.WHITE;
             }
 
-            img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * textRect.width),
-                    (int) Math.round(scaleY * textRect.height));
-            drawingGraphics = prepareImage(img, bgColor, fgColor, scaleX, scaleY);
+            bufferedStringPaintCount.increment();
+            imgWidth = Math.max(1, (int) Math.round(scaleX * textRect.width));
+            imgHeight = Math.max(1, (int) Math.round(scaleY * textRect.height));
+            img = ScratchImages.acquire(imgWidth, imgHeight, false);
+            drawingGraphics = prepareImage(img, imgWidth, imgHeight, bgColor, fgColor, scaleX, scaleY);
             textRect.setLocation(0, 0);
         }
         drawingGraphics.setFont(font);
@@ -180,18 +217,32 @@ public final class StringPainter {
 
         if (paintOpaqueBuffered) {
             drawingGraphics.dispose();
-            Image result = postProcessImage((Graphics2D) g, img, textPos, bgColor, fgColor);
-            g.drawImage(result, x, y, textRect.width, textRect.height, null);
+            BufferedImage result = postProcessImage((Graphics2D) g, img, imgWidth, imgHeight, textPos,
+                    bgColor, fgColor);
+            g.drawImage(result, x, y, x + textRect.width, y + textRect.height, 0, 0, imgWidth, imgHeight, null);
+            if (result != img) ScratchImages.release(result);
+            ScratchImages.release(img);
         }
         context.restore();
     }
 
-    private static Image postProcessImage(final Graphics2D g, final BufferedImage img, final Point textPos,
-            final Color bgColor, final Color fgColor) {
+    private static BufferedImage postProcessImage(final Graphics2D g, final BufferedImage img, final int width,
+            final int height, final Point textPos, final Color bgColor, final Color fgColor) {
         if (experimentalAntialiasingEnabled) {
             final BufferedImage destImg = getImage(g);
-            ImageFilter filter = new AntialiasingImageFilter(destImg, textPos.x, textPos.y, fgColor, bgColor);
-            return Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(img.getSource(), filter));
+            AntialiasingImageFilter filter =
+                    new AntialiasingImageFilter(destImg, textPos.x, textPos.y, fgColor, bgColor);
+            // Apply the filter directly instead of going through an asynchronous FilteredImageSource.
+            BufferedImage result = ScratchImages.acquire(width, height, true);
+            int[] row = new int[width];
+            for (int y = 0; y < height; y++) {
+                img.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0; x < width; x++) {
+                    row[x] = filter.filterRGB(x, y, row[x]);
+                }
+                result.setRGB(0, y, width, 1, row, 0, width);
+            }
+            return result;
         } else {
             return img;
         }
@@ -241,13 +292,13 @@ public final class StringPainter {
         return null;
     }
 
-    private static Graphics2D prepareImage(final BufferedImage img, final Color background, final Color color,
-            final double xScale, final double yScale) {
+    private static Graphics2D prepareImage(final BufferedImage img, final int width, final int height,
+            final Color background, final Color color, final double xScale, final double yScale) {
         Graphics2D g = (Graphics2D) img.getGraphics();
         g.setColor(background);
-        g.fillRect(0, 0, img.getWidth(), img.getHeight());
+        g.fillRect(0, 0, width, height);
         g.setColor(color);
-        g.setClip(0, 0, img.getWidth(), img.getHeight());
+        g.setClip(0, 0, width, height);
         g.scale(xScale, yScale);
         return g;
     }
@@ -264,15 +315,18 @@ public final class StringPainter {
     public static void paintOpacityBuffered(final Graphics g, final JComponent c, final OpacityBufferedUI ui) {
         double scaleX = Scale.getScaleX((Graphics2D) g);
         double scaleY = Scale.getScaleX((Graphics2D) g);
-        BufferedImage img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * c.getWidth()),
-                (int) Math.round(scaleY * c.getHeight()));
+        opacityBufferedPaintCount.increment();
+        int width = Math.max(1, (int) Math.round(scaleX * c.getWidth()));
+        int height = Math.max(1, (int) Math.round(scaleY * c.getHeight()));
+        BufferedImage img = ScratchImages.acquire(width, height, false);
         Graphics imgGraphics = img.getGraphics();
         imgGraphics.setColor(c.getBackground());
-        imgGraphics.fillRect(0, 0, c.getWidth(), c.getHeight());
-        imgGraphics.setClip(0, 0, img.getWidth(), img.getHeight());
+        imgGraphics.fillRect(0, 0, width, height);
+        imgGraphics.setClip(0, 0, width, height);
         ((Graphics2D) imgGraphics).scale(scaleX, scaleY);
         ui.updateUI(imgGraphics, c);
         imgGraphics.dispose();
-        g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), null);
+        g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), 0, 0, width, height, null);
+        ScratchImages.release(img);
     }
 }
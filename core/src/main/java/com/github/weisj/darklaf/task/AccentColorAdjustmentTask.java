@@ -115,7 +115,7 @@ public class AccentColorAdjustmentTask extends ColorAdjustmentTask {
         if (obj instanceof Color) {
             Color color = DarkColorModelHSB.getColorFromHSBValues(mapValue(hsbMatch[0], info.hAdj),
                     mapValue(hsbMatch[1], info.sAdj), mapValue(hsbMatch[2], info.bAdj));
-            return new DarkColorUIResource(color);
+            return DarkColorUIResource.shared(color);
         }
         return obj;
     }
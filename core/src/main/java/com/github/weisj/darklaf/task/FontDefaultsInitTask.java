@@ -91,7 +91,7 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
                 Font f = entry.getValue();
                 Font newFont = FontUtil.createFont(fontPrototype.family(), f.getStyle(), f.getSize());
                 if (f instanceof UIResource) {
-                    newFont = new DarkFontUIResource(newFont);
+                    newFont = DarkFontUIResource.shared(newFont);
                 }
                 return newFont;
             });
@@ -218,7 +218,7 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
         Font macFont = FontUtil.createFont(fontName, font.getStyle(), font.getSize());
         if (SystemInfo.isMacOSMojave) macFont = macFont.deriveFont(ENABLE_KERNING);
         if (font instanceof UIResource) {
-            macFont = new DarkFontUIResource(macFont);
+            macFont = DarkFontUIResource.shared(macFont);
         }
         return macFont == null ? font : macFont;
     }
@@ -234,7 +234,7 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
                 : normalFontName;
         Font windowsFont = FontUtil.createFont(fontName, font.getStyle(), font.getSize());
         if (font instanceof UIResource) {
-            windowsFont = new DarkFontUIResource(windowsFont);
+            windowsFont = DarkFontUIResource.shared(windowsFont);
         }
         return windowsFont;
     }
@@ -255,7 +255,7 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
         PropertyLoader.replacePropertiesOfType(Font.class, defaults, e -> kerningPredicate.test(e.getKey().toString()),
                 f -> {
                     Font font = f.deriveFont(ENABLE_KERNING);
-                    if (f instanceof UIResource) font = new DarkFontUIResource(font);
+                    if (f instanceof UIResource) font = DarkFontUIResource.shared(font);
                     return font;
                 });
     }
@@ -276,8 +276,9 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
             return font;
         }
         Font withRule = font.deriveFont(newSize);
-        if (font instanceof UIResource && !(withRule instanceof UIResource)) {
-            withRule = new DarkFontUIResource(withRule);
+        if (font instanceof UIResource) {
+            // Many keys share the same font. Collapse the derived fonts into a single instance.
+            withRule = DarkFontUIResource.shared(withRule);
         }
         return withRule;
     }
@@ -147,7 +147,7 @@ public class ForegroundColorGenerationTask extends ColorAdjustmentTask {
                 : Math.max(bgBrightness - minimumBrightnessDifference, 0);
 
         double brightness = b == Bias.WHITE ? bright1 : bright2;
-        return new DarkColorUIResource(DarkColorModelHSL.getColorFromHSLValues(hslFG[0], hslFG[1], brightness));
+        return DarkColorUIResource.shared(DarkColorModelHSL.getColorFromHSLValues(hslFG[0], hslFG[1], brightness));
     }
 
     public enum Bias {
@@ -21,25 +21,52 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
 import com.github.weisj.darklaf.iconset.IconSet;
 import com.github.weisj.darklaf.nativelaf.DecorationsHandler;
 import com.github.weisj.darklaf.platform.SystemInfo;
 import com.github.weisj.darklaf.properties.PropertyLoader;
 import com.github.weisj.darklaf.properties.icons.IconResolver;
+import com.github.weisj.darklaf.properties.parser.Parser;
 import com.github.weisj.darklaf.theme.Theme;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
+    /**
+     * If enabled the resolved theme defaults are kept in memory and reused for subsequent installations
+     * of the same theme configuration. This skips loading and parsing the property files entirely e.g.
+     * when switching back and forth between themes.
+     *
+     * <p>
+     * Note: This assumes that the customization methods of the installed {@link Theme} produce the same
+     * values each time they are called.
+     */
+    public static final String DEFAULTS_SNAPSHOT_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "themeDefaultsSnapshot";
+    private static final int MAX_SNAPSHOT_COUNT = 4;
+
+    /**
+     * If enabled the property files of the individual components are read concurrently. They are still
+     * parsed and merged in their declaration order on the installing thread, hence the resulting
+     * defaults are the same as with sequential loading.
+     */
+    public static final String PARALLEL_LOADING_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "parallelPropertyLoading";
+
     private static final String GLOBAL_PREFIX = "global.";
     private static final String MAC_OS_MENU_BAR_KEY = "apple.laf.useScreenMenuBar";
     private static final String[] UI_PROPERTIES = new String[] {"borders", "button", "cell", "checkBox", "colorChooser",
@@ -58,14 +85,69 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask userPreferenceAdjustment = new UserDefaultsAdjustmentTask();
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
+    // Guarded by itself. The laf may be installed from any thread.
+    private final Map<ThemeDefaultsSnapshot.Key, ThemeDefaultsSnapshot> snapshots =
+            new LinkedHashMap<ThemeDefaultsSnapshot.Key, ThemeDefaultsSnapshot>(MAX_SNAPSHOT_COUNT, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<ThemeDefaultsSnapshot.Key, ThemeDefaultsSnapshot> eldest) {
+                    return size() > MAX_SNAPSHOT_COUNT;
+                }
+            };
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
+        if (!isSnapshotEnabled()) {
+            synchronized (snapshots) {
+                snapshots.clear();
+            }
+            loadThemeDefaults(currentTheme, defaults);
+            return;
+        }
+        PropertyUtil.installSystemProperty(MAC_OS_MENU_BAR_KEY, "true");
+        ThemeDefaultsSnapshot.Key key = new ThemeDefaultsSnapshot.Key(currentTheme, getOsName(),
+                SystemInfo.isWindows11(), Boolean.getBoolean(MAC_OS_MENU_BAR_KEY),
+                DecorationsHandler.getSharedInstance(), LafManager.getUserDefaultsAdjustmentTasks(), defaults);
+        ThemeDefaultsSnapshot snapshot;
+        synchronized (snapshots) {
+            // The map is access ordered, hence get modifies it as well.
+            snapshot = snapshots.get(key);
+        }
+        if (snapshot != null) {
+            snapshot.apply(defaults);
+            return;
+        }
+        Map<Object, Object> before = new HashMap<>(defaults);
         loadThemeDefaults(currentTheme, defaults);
+        snapshot = ThemeDefaultsSnapshot.record(before, defaults);
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+        }
+    }
+
+    private boolean isSnapshotEnabled() {
+        // Debug mode stores the ParseResults in the defaults which shouldn't outlive a single installation.
+        return PropertyUtil.getSystemFlag(DEFAULTS_SNAPSHOT_FLAG, false) && !Parser.isDebugMode();
     }
 
     private void loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
         Properties uiProps = new Properties();
+        /*
+         * Properties may reference properties of files which are loaded later on. These references are
+         * resolved once all files have been loaded.
+         */
+        PropertyLoader.beginLoading();
+        try {
+            loadThemeProperties(currentTheme, defaults, uiProps);
+        } finally {
+            PropertyLoader.finishLoading();
+        }
+        initAccentProperties(currentTheme, uiProps);
+
+        defaults.putAll(uiProps);
+    }
+
+    private void loadThemeProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         currentTheme.loadDefaults(uiProps, defaults, DarkUIUtil.iconResolver());
 
         backupAccentColors(uiProps);
@@ -89,10 +171,6 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
         DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
         adjustPlatformSpecifics(uiProps);
-
-        initAccentProperties(currentTheme, uiProps);
-
-        defaults.putAll(uiProps);
     }
 
     private void backupAccentColors(final Properties uiProps) {
@@ -136,9 +214,8 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
     private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
-        for (String property : UI_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "ui/"),
-                    uiProps, defaults, iconResolver);
+        for (Properties properties : loadAllProperties(DarkLaf.class, UI_PROPERTIES, "ui/")) {
+            PropertyLoader.putProperties(properties, uiProps, defaults, iconResolver);
         }
         currentTheme.customizeUIProperties(uiProps, defaults, iconResolver);
     }
@@ -146,13 +223,21 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
         currentTheme.loadIconTheme(uiProps, defaults, iconResolver);
-        for (String property : ICON_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(IconSet.class, property, ""),
-                    uiProps, defaults, iconResolver);
+        for (Properties properties : loadAllProperties(IconSet.class, ICON_PROPERTIES, "")) {
+            PropertyLoader.putProperties(properties, uiProps, defaults, iconResolver);
         }
         currentTheme.customizeIconTheme(uiProps, defaults, iconResolver);
     }
 
+    private List<Properties> loadAllProperties(final Class<?> clazz, final String[] names, final String path) {
+        Stream<String> nameStream = Arrays.stream(names);
+        if (PropertyUtil.getSystemFlag(PARALLEL_LOADING_FLAG, false)) {
+            nameStream = nameStream.parallel();
+        }
+        // The collected list keeps the encounter order regardless of how the files were loaded.
+        return nameStream.map(name -> PropertyLoader.loadProperties(clazz, name, path)).collect(Collectors.toList());
+    }
+
     private void initPlatformProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
         IconResolver iconResolver = DarkUIUtil.iconResolver();
         Consumer<String> osPlatformLoader = osName -> PropertyLoader.putProperties(
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.task;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.theme.Theme;
+
+/**
+ * The resolved result of {@link ThemeDefaultsInitTask} for a specific theme configuration. Applying
+ * the snapshot to a fresh set of defaults yields the same defaults as running the task itself,
+ * without loading and parsing any property files.
+ *
+ * @author Jannis Weis
+ */
+final class ThemeDefaultsSnapshot {
+
+    private final Map<Object, Object> changedValues;
+    private final Set<Object> removedKeys;
+
+    private ThemeDefaultsSnapshot(final Map<Object, Object> changedValues, final Set<Object> removedKeys) {
+        this.changedValues = changedValues;
+        this.removedKeys = removedKeys;
+    }
+
+    /**
+     * Records the changes made to the defaults.
+     *
+     * @param before a copy of the defaults before the task ran.
+     * @param after the defaults after the task ran.
+     * @return the snapshot.
+     */
+    static ThemeDefaultsSnapshot record(final Map<Object, Object> before, final UIDefaults after) {
+        Map<Object, Object> changed = new HashMap<>(after.size());
+        for (Map.Entry<Object, Object> entry : after.entrySet()) {
+            // Compare by identity. Equal values which are different instances are recorded as well.
+            if (before.get(entry.getKey()) != entry.getValue()) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Set<Object> removed = new HashSet<>();
+        for (Object key : before.keySet()) {
+            if (!after.containsKey(key)) removed.add(key);
+        }
+        return new ThemeDefaultsSnapshot(changed, removed);
+    }
+
+    void apply(final UIDefaults defaults) {
+        for (Object key : removedKeys) {
+            defaults.remove(key);
+        }
+        defaults.putAll(changedValues);
+    }
+
+    /**
+     * Identifies the configuration a snapshot was recorded for. If any part of the key changes the
+     * snapshot is considered stale.
+     */
+    static final class Key {
+        private final Theme theme;
+        private final String osName;
+        private final boolean isWindows11;
+        private final boolean useScreenMenuBar;
+        private final Object decorationsHandler;
+        private final List<DefaultsAdjustmentTask> userAdjustmentTasks;
+        private final int baseDefaultsFingerprint;
+
+        Key(final Theme theme, final String osName, final boolean isWindows11, final boolean useScreenMenuBar,
+                final Object decorationsHandler, final Collection<DefaultsAdjustmentTask> userAdjustmentTasks,
+                final UIDefaults baseDefaults) {
+            this.theme = theme;
+            this.osName = osName;
+            this.isWindows11 = isWindows11;
+            this.useScreenMenuBar = useScreenMenuBar;
+            this.decorationsHandler = decorationsHandler;
+            this.userAdjustmentTasks = new ArrayList<>(userAdjustmentTasks);
+            this.baseDefaultsFingerprint = baseDefaults.keySet().hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return isWindows11 == key.isWindows11
+                    && useScreenMenuBar == key.useScreenMenuBar
+                    && baseDefaultsFingerprint == key.baseDefaultsFingerprint
+                    && decorationsHandler == key.decorationsHandler
+                    && Objects.equals(theme, key.theme)
+                    && Objects.equals(osName, key.osName)
+                    && Objects.equals(userAdjustmentTasks, key.userAdjustmentTasks);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(theme);
+            result = 31 * result + Objects.hashCode(osName);
+            result = 31 * result + Boolean.hashCode(isWindows11);
+            result = 31 * result + Boolean.hashCode(useScreenMenuBar);
+            result = 31 * result + System.identityHashCode(decorationsHandler);
+            result = 31 * result + userAdjustmentTasks.hashCode();
+            result = 31 * result + baseDefaultsFingerprint;
+            return result;
+        }
+    }
+}
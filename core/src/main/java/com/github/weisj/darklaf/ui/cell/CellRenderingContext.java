@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.cell;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * State of a component which is invariant while its cells are painted. The ui of a table, list or
+ * tree opens a context for the duration of its paint pass. The renderer delegates and
+ * {@link CellUtil} then look up the focus state, client properties and borders from the context
+ * instead of resolving them for every cell.
+ *
+ * @author Jannis Weis
+ */
+public final class CellRenderingContext {
+
+    private static final ThreadLocal<Deque<CellRenderingContext>> contexts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final JComponent parent;
+    private final Map<String, Boolean> booleanProperties = new HashMap<>();
+    private final Map<String, Border> borders = new HashMap<>();
+    private Boolean parentFocused;
+    private Boolean cellFocused;
+
+    private CellRenderingContext(final JComponent parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a context for the paint pass of the given component. The context has to be closed using
+     * {@link #end()} once the pass is finished.
+     *
+     * @param parent the component whose cells are painted.
+     * @return the context.
+     */
+    public static CellRenderingContext begin(final JComponent parent) {
+        CellRenderingContext context = new CellRenderingContext(parent);
+        contexts.get().push(context);
+        return context;
+    }
+
+    public void end() {
+        contexts.get().remove(this);
+    }
+
+    /**
+     * Returns the context of the current paint pass of the component.
+     *
+     * @param parent the component whose cells are painted.
+     * @return the context or null if the component isn't painting.
+     */
+    public static CellRenderingContext get(final Component parent) {
+        Deque<CellRenderingContext> stack = contexts.get();
+        if (stack.isEmpty()) return null;
+        for (CellRenderingContext context : stack) {
+            if (context.parent == parent) return context;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the component or one of its children has the focus.
+     *
+     * @param parent the component.
+     * @return true if focused.
+     * @see DarkUIUtil#hasFocus(Component)
+     */
+    public static boolean hasFocus(final JComponent parent) {
+        CellRenderingContext context = get(parent);
+        return context != null ? context.isParentFocused() : DarkUIUtil.hasFocus(parent);
+    }
+
+    public static boolean getBooleanProperty(final JComponent parent, final String key) {
+        CellRenderingContext context = get(parent);
+        return context != null ? context.getBooleanProperty(key) : PropertyUtil.getBooleanProperty(parent, key);
+    }
+
+    public static Border getBorder(final JComponent parent, final String key) {
+        CellRenderingContext context = get(parent);
+        return context != null ? context.getBorder(key) : UIManager.getBorder(key);
+    }
+
+    public boolean isParentFocused() {
+        if (parentFocused == null) parentFocused = DarkUIUtil.hasFocus(parent);
+        return parentFocused;
+    }
+
+    public boolean getBooleanProperty(final String key) {
+        return booleanProperties.computeIfAbsent(key, k -> PropertyUtil.getBooleanProperty(parent, k));
+    }
+
+    public Border getBorder(final String key) {
+        return borders.computeIfAbsent(key, UIManager::getBorder);
+    }
+
+    /**
+     * Returns whether the cells are painted as focused, unless the cell component itself has the
+     * focus.
+     *
+     * @return true if the cells are focused.
+     */
+    boolean isCellFocused() {
+        if (cellFocused == null) {
+            cellFocused = isParentFocused()
+                    || DarkUIUtil.getParentOfType(JPopupMenu.class, parent, 4) != null;
+        }
+        return cellFocused;
+    }
+}
@@ -261,7 +261,7 @@ public final class CellUtil {
     }
 
     public static void setupListForeground(final Component comp, final JList<?> parent, final boolean selected) {
-        boolean comboList = PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
+        boolean comboList = CellRenderingContext.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
         setupForeground(comp, parent, selected, listCellForeground,
                 comboList ? comboListCellForegroundSelected : listCellForegroundSelected,
                 listCellForegroundNoFocus, listCellForegroundSelectedNoFocus, listCellInactiveForeground,
@@ -295,7 +295,8 @@ public final class CellUtil {
 
     public static Color getTableBackground(final Component comp, final JTable parent, final boolean selected,
             final boolean focus, final int row) {
-        boolean alt = row % 2 == 1 && PropertyUtil.getBooleanProperty(parent, DarkTableUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean alt = row % 2 == 1
+                && CellRenderingContext.getBooleanProperty(parent, DarkTableUI.KEY_ALTERNATE_ROW_COLOR);
         return getColor(comp, focus, selected, alt ? tableCellBackgroundAlternative : tableCellBackground,
                 tableCellBackgroundSelected, alt ? tableCellBackgroundNoFocusAlternative : tableCellBackgroundNoFocus,
                 tableCellBackgroundSelectedNoFocus,
@@ -319,7 +320,7 @@ public final class CellUtil {
         Color treeBg = parent.getBackground();
         boolean canOverwrite = ColorUtil.canOverwriteColor(treeBg);
         boolean alt = canOverwrite && row % 2 == 1
-                && PropertyUtil.getBooleanProperty(parent, DarkTreeUI.KEY_ALTERNATE_ROW_COLOR);
+                && CellRenderingContext.getBooleanProperty(parent, DarkTreeUI.KEY_ALTERNATE_ROW_COLOR);
         Color defaultBg = canOverwrite ? treeCellBackground : treeBg;
         Color defaultBgNoFocus = canOverwrite ? treeCellBackgroundNoFocus : treeBg;
         Color defaultBgInactive = canOverwrite ? treeCellInactiveBackground : treeBg;
@@ -373,8 +374,8 @@ public final class CellUtil {
 
     public static Color getListBackground(final Component comp, final JList<?> parent, final boolean selected,
             final boolean altRow) {
-        boolean alt = altRow && PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
-        boolean comboList = PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
+        boolean alt = altRow && CellRenderingContext.getBooleanProperty(parent, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean comboList = CellRenderingContext.getBooleanProperty(parent, DarkListUI.KEY_IS_COMBO_LIST);
         return getColor(comp, hasFocus(parent, comp), selected,
                 alt ? listCellBackgroundAlternative : listCellBackground,
                 comboList ? comboListCellBackgroundSelected : listCellBackgroundSelected,
@@ -461,9 +462,14 @@ public final class CellUtil {
         return c;
     }
 
-    private static boolean hasFocus(final Component cellComponent, final Component parentComponent) {
-        return parentComponent.hasFocus() || DarkUIUtil.hasFocus(cellComponent)
-                || DarkUIUtil.getParentOfType(JPopupMenu.class, cellComponent, 4) != null;
+    private static boolean hasFocus(final Component parent, final Component cellComponent) {
+        if (cellComponent.hasFocus()) return true;
+        CellRenderingContext context = CellRenderingContext.get(parent);
+        return context != null ? context.isCellFocused() : isCellFocused(parent);
+    }
+
+    private static boolean isCellFocused(final Component parent) {
+        return DarkUIUtil.hasFocus(parent) || DarkUIUtil.getParentOfType(JPopupMenu.class, parent, 4) != null;
     }
 
     public static void setSelectedFlag(final Component comp, final boolean selected) {
@@ -25,9 +25,9 @@ import java.awt.*;
 import javax.swing.*;
 
 import com.github.weisj.darklaf.delegate.ListCellRendererDelegate;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.util.LazyValue;
-import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class DarkListCellRendererDelegate extends ListCellRendererDelegate<Object> implements SwingConstants {
 
@@ -50,7 +50,7 @@ public class DarkListCellRendererDelegate extends ListCellRendererDelegate<Objec
     @Override
     public Component getListCellRendererComponent(final JList<?> list, final Object value, final int index,
             final boolean isSelected, final boolean cellHasFocus) {
-        boolean isEditing = PropertyUtil.getBooleanProperty(list, DarkListUI.KEY_IS_EDITING);
+        boolean isEditing = CellRenderingContext.getBooleanProperty(list, DarkListUI.KEY_IS_EDITING);
         boolean leadIndex = isEditing && list.getSelectionModel().getLeadSelectionIndex() == index;
         boolean sel = isSelected && !leadIndex;
         boolean focus = cellHasFocus && !leadIndex;
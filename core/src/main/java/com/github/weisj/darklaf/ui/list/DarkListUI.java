@@ -28,6 +28,7 @@ import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 
 import com.github.weisj.darklaf.ui.cell.CellConstants;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
 import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
@@ -42,6 +43,7 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
     public static final String KEY_BOOLEAN_RENDER_TYPE = KEY_PREFIX + "booleanRenderType";
     public static final String KEY_FULL_ROW_SELECTION = KEY_PREFIX + "fullRowSelection";
     public static final String KEY_IS_EDITING = KEY_PREFIX + "isEditing";
+    public static final String KEY_SAMPLED_MEASUREMENT = KEY_PREFIX + "sampledMeasurement";
     public static final String KEY_IS_LIST_EDITOR = "JComponent.listCellEditor";
 
     protected DarkListCellRendererDelegate rendererDelegate;
@@ -65,6 +67,16 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
         PropertyUtil.installBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR, "List.alternateRowColor");
     }
 
+    @Override
+    public void paint(final Graphics g, final JComponent c) {
+        CellRenderingContext context = CellRenderingContext.begin(list);
+        try {
+            super.paint(g, c);
+        } finally {
+            context.end();
+        }
+    }
+
     protected CellRendererPane createCellRendererPane() {
         return new DarkCellRendererPane();
     }
@@ -104,9 +116,12 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
             return;
         }
 
-        // Determine how many columns we need to paint
         Rectangle paintBounds = g.getClipBounds();
+        if (measureEstimatedRows(paintBounds.y, paintBounds.y + paintBounds.height)) {
+            list.revalidate();
+        }
 
+        // Determine how many columns we need to paint
         int startColumn, endColumn;
         if (c.getComponentOrientation().isLeftToRight()) {
             startColumn = convertLocationToColumn(paintBounds.x, paintBounds.y);
@@ -203,6 +218,11 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
         return columnCount;
     }
 
+    @Override
+    protected boolean isSampledMeasurement() {
+        return PropertyUtil.getBooleanProperty(list, KEY_SAMPLED_MEASUREMENT);
+    }
+
     protected class DarkHandler extends Handler {
 
         @Override
@@ -211,6 +231,9 @@ public class DarkListUI extends DarkListUIBridge implements CellConstants {
             String key = e.getPropertyName();
             if (KEY_ALTERNATE_ROW_COLOR.equals(key)) {
                 list.repaint();
+            } else if (KEY_SAMPLED_MEASUREMENT.equals(key)) {
+                updateLayoutStateNeeded |= modelChanged;
+                redrawList();
             }
         }
 
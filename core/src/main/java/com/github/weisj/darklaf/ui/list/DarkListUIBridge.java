@@ -84,6 +84,8 @@ public abstract class DarkListUIBridge extends BasicListUI {
     protected static final int componentOrientationChanged = 1 << 10;
     /** The constant DROP_LINE_THICKNESS. */
     protected static final int DROP_LINE_THICKNESS = 2;
+    /** The number of rows measured to estimate the row height if sampled measurement is enabled. */
+    protected static final int MEASUREMENT_SAMPLE_SIZE = 100;
     /**
      * Used by IncrementLeadSelectionAction. Indicates the action should change the lead, and not select
      * it.
@@ -140,6 +142,13 @@ public abstract class DarkListUIBridge extends BasicListUI {
     protected boolean isFileList = false;
     /** Local cache of JList's component orientation property */
     protected boolean isLeftToRight = true;
+    /**
+     * The heights of the rows if the list is layed out vertically and the row height isn't fixed. This
+     * replaces {@code cellHeights} and is updated incrementally on model changes.
+     */
+    private RowGeometry rowGeometry;
+    /** Whether the row geometry has been updated incrementally since the last layout. */
+    private boolean rowGeometryChanged;
 
     /**
      * Returns a new instance of {@code BasicListUI}. {@code BasicListUI} delegates are allocated one
@@ -651,6 +660,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         cellWidth = cellHeight = -1;
         cellHeights = null;
+        rowGeometry = null;
 
         listWidth = listHeight = -1;
 
@@ -782,11 +792,118 @@ public abstract class DarkListUIBridge extends BasicListUI {
         if (updateLayoutStateNeeded != 0) {
             updateLayoutState();
             updateLayoutStateNeeded = 0;
+            rowGeometryChanged = false;
+        } else if (rowGeometryChanged) {
+            updateRowGeometry();
+            rowGeometryChanged = false;
+        }
+    }
+
+    /**
+     * Measures the rows which have been added or changed since the last layout and updates the
+     * cellWidth accordingly. Only the affected rows are passed to the renderer. If sampled measurement
+     * is enabled only the visible rows are measured.
+     */
+    private void updateRowGeometry() {
+        if (isSampledMeasurement()) {
+            Rectangle visibleRect = list.getVisibleRect();
+            measureEstimatedRows(visibleRect.y, visibleRect.y + visibleRect.height);
+            return;
+        }
+        if (rowGeometry.hasUnmeasuredRows()) {
+            int last = rowGeometry.getLastUnmeasuredRow();
+            for (int index = rowGeometry.getFirstUnmeasuredRow(); index <= last; index++) {
+                if (!rowGeometry.isMeasured(index)) measureRow(index);
+            }
         }
+        updateCellWidth();
+    }
+
+    /**
+     * Returns whether the layout should only measure a sample of the rows and estimate the height of
+     * the remaining rows. Rows are measured once they become visible.
+     *
+     * @return true if sampled measurement is enabled.
+     * @see #measureEstimatedRows(int, int)
+     */
+    protected boolean isSampledMeasurement() {
+        return false;
     }
 
     /**
-     * Recompute the value of cellHeight or cellHeights based and cellWidth, based on the current font
+     * Measures all rows in the given vertical range whose height is only estimated. Has no effect if
+     * the list doesn't use variable row heights.
+     *
+     * @param y0 the start of the range.
+     * @param y1 the end of the range.
+     * @return true if the preferred size of the list has changed.
+     */
+    protected boolean measureEstimatedRows(final int y0, final int y1) {
+        if (rowGeometry == null || !rowGeometry.hasUnmeasuredRows()) return false;
+        int oldHeight = rowGeometry.getTotalHeight();
+        int oldWidth = cellWidth;
+        int top = list.getInsets().top;
+        int size = rowGeometry.size();
+        int row = Math.max(0, rowGeometry.rowAtY(y0 - top));
+        // Measuring a row moves the following rows, hence the location has to be checked every time.
+        while (row < size && rowGeometry.getY(row) < y1 - top) {
+            if (!rowGeometry.isMeasured(row)) measureRow(row);
+            row++;
+        }
+        updateCellWidth();
+        return oldHeight != rowGeometry.getTotalHeight() || oldWidth != cellWidth;
+    }
+
+    private void measureRow(final int index) {
+        ListCellRenderer<Object> renderer = list.getCellRenderer();
+        if (renderer != null) {
+            Object value = list.getModel().getElementAt(index);
+            Component c = renderer.getListCellRendererComponent(list, value, index, false, false);
+            rendererPane.add(c);
+            Dimension cellSize = c.getPreferredSize();
+            rowGeometry.setSize(index, cellSize.width, cellSize.height);
+        } else {
+            rowGeometry.setSize(index, 0, 0);
+        }
+    }
+
+    private void updateCellWidth() {
+        int fixedCellWidth = list.getFixedCellWidth();
+        if (fixedCellWidth != -1) {
+            cellWidth = fixedCellWidth;
+        } else {
+            cellWidth = rowGeometry.size() > 0 ? rowGeometry.getMaxWidth() : -1;
+        }
+    }
+
+    /**
+     * Measures the leading rows and an evenly spaced sample of the remaining rows. The average height
+     * of the sample is used as the estimated height of all other rows.
+     */
+    private void updateSampledLayoutState() {
+        int size = rowGeometry.size();
+        int leading = Math.min(size, Math.max(list.getVisibleRowCount(), 0));
+        long heightSum = 0;
+        int count = 0;
+        for (int index = 0; index < leading; index++) {
+            measureRow(index);
+            heightSum += rowGeometry.getHeight(index);
+            count++;
+        }
+        int stride = Math.max(1, size / MEASUREMENT_SAMPLE_SIZE);
+        for (int index = leading; index < size; index += stride) {
+            measureRow(index);
+            heightSum += rowGeometry.getHeight(index);
+            count++;
+        }
+        if (count > 0) rowGeometry.setEstimatedHeight((int) Math.round((double) heightSum / count));
+        Rectangle visibleRect = list.getVisibleRect();
+        measureEstimatedRows(visibleRect.y, visibleRect.y + visibleRect.height);
+        updateCellWidth();
+    }
+
+    /**
+     * Recompute the value of cellHeight or rowGeometry based and cellWidth, based on the current font
      * and the current values of fixedCellWidth, fixedCellHeight, and prototypeCellValue.
      *
      * @see #maybeUpdateLayoutState
@@ -795,7 +912,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
     protected void updateLayoutState() {
         /*
          * If both JList fixedCellWidth and fixedCellHeight have been set, then initialize cellWidth and
-         * cellHeight, and set cellHeights to null.
+         * cellHeight, and set rowGeometry to null.
          */
         int fixedCellHeight = list.getFixedCellHeight();
         int fixedCellWidth = list.getFixedCellWidth();
@@ -804,16 +921,23 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         if (fixedCellHeight != -1) {
             cellHeight = fixedCellHeight;
-            cellHeights = null;
+            rowGeometry = null;
         } else {
             cellHeight = -1;
-            cellHeights = new int[list.getModel().getSize()];
+            rowGeometry = new RowGeometry(list.getModel().getSize());
+        }
+
+        if (fixedCellHeight == -1 && layoutOrientation == JList.VERTICAL && list.getCellRenderer() != null
+                && rowGeometry.size() > MEASUREMENT_SAMPLE_SIZE && isSampledMeasurement()) {
+            columnCount = 1;
+            updateSampledLayoutState();
+            return;
         }
 
         /*
          * If either of JList fixedCellWidth and fixedCellHeight haven't been set, then initialize cellWidth
-         * and cellHeights by scanning through the entire model. Note: if the renderer is null, we just set
-         * cellWidth and cellHeights[*] to zero, if they're not set already.
+         * and rowGeometry by scanning through the entire model. Note: if the renderer is null, we just set
+         * cellWidth and the row heights to zero, if they're not set already.
          */
         if ((fixedCellWidth == -1) || (fixedCellHeight == -1)) {
 
@@ -831,18 +955,18 @@ public abstract class DarkListUIBridge extends BasicListUI {
                         cellWidth = Math.max(cellSize.width, cellWidth);
                     }
                     if (fixedCellHeight == -1) {
-                        cellHeights[index] = cellSize.height;
+                        rowGeometry.setSize(index, cellSize.width, cellSize.height);
                     }
                 }
             } else {
                 if (cellWidth == -1) {
                     cellWidth = 0;
                 }
-                if (cellHeights == null) {
-                    cellHeights = new int[dataModelSize];
+                if (rowGeometry == null) {
+                    rowGeometry = new RowGeometry(dataModelSize);
                 }
                 for (int index = 0; index < dataModelSize; index++) {
-                    cellHeights[index] = 0;
+                    rowGeometry.setSize(index, 0, 0);
                 }
             }
         }
@@ -993,7 +1117,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
             return -1;
         }
         Insets insets = list.getInsets();
-        if (cellHeights == null) {
+        if (rowGeometry == null) {
             int row = (cellHeight == 0) ? 0 : ((y0 - insets.top) / cellHeight);
             if (closest) {
                 if (row < 0) {
@@ -1003,24 +1127,18 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 }
             }
             return row;
-        } else if (size > cellHeights.length) {
+        } else if (size > rowGeometry.size()) {
             return -1;
         } else {
-            int y = insets.top;
-            int row = 0;
-
-            if (closest && y0 < y) {
+            int y = y0 - insets.top;
+            if (closest && y < 0) {
                 return 0;
             }
-            int i;
-            for (i = 0; i < size; i++) {
-                if ((y0 >= y) && (y0 < y + cellHeights[i])) {
-                    return row;
-                }
-                y += cellHeights[i];
-                row += 1;
+            int row = rowGeometry.rowAtY(y);
+            if (row < 0 || row >= size) {
+                return size - 1;
             }
-            return i - 1;
+            return row;
         }
     }
 
@@ -1103,15 +1221,9 @@ public abstract class DarkListUIBridge extends BasicListUI {
             height = fixedCellHeight;
         } else {
             // Determine the max of the renderer heights.
-            int maxHeight = 0;
-            if (cellHeights.length > 0) {
-                maxHeight = cellHeights[cellHeights.length - 1];
-                for (int counter = cellHeights.length - 2; counter >= 0; counter--) {
-                    maxHeight = Math.max(maxHeight, cellHeights[counter]);
-                }
-            }
+            int maxHeight = rowGeometry.getMaxHeight();
             height = cellHeight = maxHeight;
-            cellHeights = null;
+            rowGeometry = null;
         }
         // The number of rows is either determined by the visible row
         // count, or by the height of the list.
@@ -1236,7 +1348,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
         if (row >= list.getModel().getSize()) {
             return -1;
         }
-        return (cellHeights == null) ? cellHeight : (row < cellHeights.length) ? cellHeights[row] : -1;
+        return (rowGeometry == null) ? cellHeight : (row < rowGeometry.size()) ? rowGeometry.getHeight(row) : -1;
     }
 
     /**
@@ -1431,14 +1543,12 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 break;
             default:
                 x = insets.left;
-                if (cellHeights == null) {
+                if (rowGeometry == null) {
                     y += cellHeight * row;
-                } else if (row >= cellHeights.length) {
+                } else if (row >= rowGeometry.size()) {
                     y = 0;
                 } else {
-                    for (int i = 0; i < row; i++) {
-                        y += cellHeights[i];
-                    }
+                    y += rowGeometry.getY(row);
                 }
                 w = list.getWidth() - (insets.left + insets.right);
                 h = getRowHeight(index);
@@ -2431,7 +2541,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
         //
         @Override
         public void intervalAdded(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateRowGeometry(e)) updateLayoutStateNeeded = modelChanged;
 
             int minIndex = Math.min(e.getIndex0(), e.getIndex1());
             int maxIndex = Math.max(e.getIndex0(), e.getIndex1());
@@ -2452,7 +2562,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         @Override
         public void intervalRemoved(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateRowGeometry(e)) updateLayoutStateNeeded = modelChanged;
 
             /*
              * Sync the SelectionModel with the DataModel.
@@ -2471,10 +2581,40 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         @Override
         public void contentsChanged(final ListDataEvent e) {
-            updateLayoutStateNeeded = modelChanged;
+            if (!updateRowGeometry(e)) updateLayoutStateNeeded = modelChanged;
             redrawList();
         }
 
+        /*
+         * Applies the change to the row geometry such that only the affected rows have to be measured
+         * again. Returns false if the layout state has to be recomputed from scratch.
+         */
+        private boolean updateRowGeometry(final ListDataEvent e) {
+            if (updateLayoutStateNeeded != 0 || rowGeometry == null) return false;
+            int index0 = Math.min(e.getIndex0(), e.getIndex1());
+            int index1 = Math.max(e.getIndex0(), e.getIndex1());
+            if (index0 < 0) return false;
+            int count = index1 - index0 + 1;
+            int size = rowGeometry.size();
+            int modelSize = list.getModel().getSize();
+            switch (e.getType()) {
+                case ListDataEvent.INTERVAL_ADDED:
+                    if (index0 > size || size + count != modelSize) return false;
+                    rowGeometry.insert(index0, count);
+                    break;
+                case ListDataEvent.INTERVAL_REMOVED:
+                    if (index1 >= size || size - count != modelSize) return false;
+                    rowGeometry.remove(index0, index1);
+                    break;
+                default:
+                    if (index1 >= size || size != modelSize) return false;
+                    rowGeometry.invalidate(index0, index1);
+                    break;
+            }
+            rowGeometryChanged = true;
+            return true;
+        }
+
         //
         // ListSelectionListener
         //
@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.Arrays;
+
+/**
+ * The sizes of the cells of a list with variable row heights. The row heights are stored in a
+ * Fenwick tree, such that the location of a row and the row at a location can be computed in
+ * logarithmic time. Rows which have been inserted or changed are marked as unmeasured until their
+ * size is set. Until then they use an estimated height.
+ *
+ * @author Jannis Weis
+ */
+final class RowGeometry {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int size;
+    private int[] heights;
+    private int[] widths;
+    private boolean[] measured;
+    // 1-based Fenwick tree over the heights.
+    private int[] tree;
+
+    private int unmeasuredMin = Integer.MAX_VALUE;
+    private int unmeasuredMax = -1;
+    private int maxWidth = -1;
+    private int estimatedHeight;
+
+    RowGeometry(final int size) {
+        int capacity = Math.max(MIN_CAPACITY, size);
+        heights = new int[capacity];
+        widths = new int[capacity];
+        measured = new boolean[capacity];
+        tree = new int[capacity + 1];
+        this.size = size;
+        markUnmeasured(0, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getHeight(final int row) {
+        return heights[row];
+    }
+
+    /**
+     * Returns the location of the row relative to the first row.
+     *
+     * @param row the row.
+     * @return the sum of the heights of all rows before the given row.
+     */
+    int getY(final int row) {
+        int sum = 0;
+        for (int i = Math.min(row, size); i > 0; i -= Integer.lowestOneBit(i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    int getTotalHeight() {
+        return getY(size);
+    }
+
+    /**
+     * Returns the row containing the location relative to the first row.
+     *
+     * @param y the location.
+     * @return the row, -1 if the location is negative or {@link #size()} if it lies below the last row.
+     */
+    int rowAtY(final int y) {
+        if (y < 0) return -1;
+        int pos = 0;
+        int remaining = y;
+        for (int step = Integer.highestOneBit(Math.max(1, size)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && tree[next] <= remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    int getMaxHeight() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, heights[i]);
+        }
+        return max;
+    }
+
+    int getMaxWidth() {
+        if (maxWidth < 0) {
+            int max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, widths[i]);
+            }
+            maxWidth = max;
+        }
+        return maxWidth;
+    }
+
+    int getEstimatedHeight() {
+        return estimatedHeight;
+    }
+
+    /**
+     * Sets the height used for rows which haven't been measured yet. All unmeasured rows are updated
+     * to the new estimate.
+     *
+     * @param height the estimated height.
+     */
+    void setEstimatedHeight(final int height) {
+        estimatedHeight = height;
+        for (int i = 0; i < size; i++) {
+            if (!measured[i]) heights[i] = height;
+        }
+        rebuildTree();
+    }
+
+    boolean isMeasured(final int row) {
+        return measured[row];
+    }
+
+    boolean hasUnmeasuredRows() {
+        return unmeasuredMax >= 0;
+    }
+
+    int getFirstUnmeasuredRow() {
+        return unmeasuredMin;
+    }
+
+    int getLastUnmeasuredRow() {
+        return Math.min(unmeasuredMax, size - 1);
+    }
+
+    void setSize(final int row, final int width, final int height) {
+        if (widths[row] == maxWidth && width < maxWidth) {
+            maxWidth = -1;
+        } else if (maxWidth >= 0) {
+            maxWidth = Math.max(maxWidth, width);
+        }
+        widths[row] = width;
+        int delta = height - heights[row];
+        heights[row] = height;
+        measured[row] = true;
+        if (delta != 0) {
+            for (int i = row + 1; i <= size; i += Integer.lowestOneBit(i)) {
+                tree[i] += delta;
+            }
+        }
+        if (row == unmeasuredMin) {
+            while (unmeasuredMin <= unmeasuredMax && measured[unmeasuredMin]) {
+                unmeasuredMin++;
+            }
+            if (unmeasuredMin > unmeasuredMax) clearUnmeasured();
+        }
+    }
+
+    /**
+     * Marks all rows in the interval as unmeasured.
+     *
+     * @param index0 the first row.
+     * @param index1 the last row (inclusive).
+     */
+    void invalidate(final int index0, final int index1) {
+        for (int i = index0; i <= index1; i++) {
+            measured[i] = false;
+        }
+        markUnmeasured(index0, index1);
+    }
+
+    /**
+     * Inserts unmeasured rows with the estimated height.
+     *
+     * @param index the index of the first inserted row.
+     * @param count the number of inserted rows.
+     */
+    void insert(final int index, final int count) {
+        ensureCapacity(size + count);
+        if (index == size) {
+            // Appending doesn't change the existing entries of the tree.
+            Arrays.fill(heights, index, index + count, estimatedHeight);
+            Arrays.fill(widths, index, index + count, 0);
+            Arrays.fill(measured, index, index + count, false);
+            int oldSize = size;
+            size += count;
+            for (int i = oldSize + 1; i <= size; i++) {
+                tree[i] = getY(i - 1) - getY(i - Integer.lowestOneBit(i)) + heights[i - 1];
+            }
+        } else {
+            System.arraycopy(heights, index, heights, index + count, size - index);
+            System.arraycopy(widths, index, widths, index + count, size - index);
+            System.arraycopy(measured, index, measured, index + count, size - index);
+            Arrays.fill(heights, index, index + count, estimatedHeight);
+            Arrays.fill(widths, index, index + count, 0);
+            Arrays.fill(measured, index, index + count, false);
+            size += count;
+            rebuildTree();
+        }
+        if (unmeasuredMax >= index) {
+            unmeasuredMax += count;
+            if (unmeasuredMin >= index) unmeasuredMin += count;
+        }
+        markUnmeasured(index, index + count - 1);
+    }
+
+    /**
+     * Removes the rows in the interval.
+     *
+     * @param index0 the first row.
+     * @param index1 the last row (inclusive).
+     */
+    void remove(final int index0, final int index1) {
+        int count = index1 - index0 + 1;
+        int tail = size - index1 - 1;
+        if (tail > 0) {
+            System.arraycopy(heights, index1 + 1, heights, index0, tail);
+            System.arraycopy(widths, index1 + 1, widths, index0, tail);
+            System.arraycopy(measured, index1 + 1, measured, index0, tail);
+        }
+        size -= count;
+        // Removing the last rows doesn't change the remaining entries of the tree.
+        if (tail > 0) rebuildTree();
+        maxWidth = -1;
+        if (hasUnmeasuredRows()) {
+            // The range only bounds the unmeasured rows, hence shrinking it conservatively is fine.
+            int min = unmeasuredMin < index0 ? unmeasuredMin : Math.max(index0, unmeasuredMin - count);
+            int max = unmeasuredMax > index1 ? unmeasuredMax - count : Math.min(unmeasuredMax, index0 - 1);
+            clearUnmeasured();
+            markUnmeasured(min, Math.min(max, size - 1));
+        }
+    }
+
+    private void markUnmeasured(final int index0, final int index1) {
+        if (index1 < index0) return;
+        unmeasuredMin = Math.min(unmeasuredMin, index0);
+        unmeasuredMax = Math.max(unmeasuredMax, index1);
+    }
+
+    private void clearUnmeasured() {
+        unmeasuredMin = Integer.MAX_VALUE;
+        unmeasuredMax = -1;
+    }
+
+    private void rebuildTree() {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i <= size; i++) {
+            tree[i] += heights[i - 1];
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= size) tree[parent] += tree[i];
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= heights.length) return;
+        int newCapacity = Math.max(capacity, heights.length + (heights.length >> 1));
+        heights = Arrays.copyOf(heights, newCapacity);
+        widths = Arrays.copyOf(widths, newCapacity);
+        measured = Arrays.copyOf(measured, newCapacity);
+        tree = Arrays.copyOf(tree, newCapacity + 1);
+    }
+}
@@ -26,6 +26,7 @@ import java.awt.event.*;
 import javax.swing.*;
 
 import com.github.weisj.darklaf.graphics.DefaultInterpolator;
+import com.github.weisj.darklaf.graphics.FrameRepaintScheduler;
 import com.github.weisj.darklaf.graphics.LegacyAnimator;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
@@ -414,8 +415,7 @@ public class DarkScrollBarListener<T extends DarkScrollBarUI> extends MouseAdapt
 
         private void repaint() {
             if (component != null) {
-                ((JComponent) component.getParent()).paintImmediately(component.getBounds());
-                component.getParent().repaint();
+                FrameRepaintScheduler.repaint((JComponent) component.getParent());
             }
         }
 
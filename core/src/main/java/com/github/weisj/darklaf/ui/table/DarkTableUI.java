@@ -35,6 +35,7 @@ import com.github.weisj.darklaf.compatibility.SwingUtil;
 import com.github.weisj.darklaf.components.OverlayScrollPane;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.ui.HasRendererPane;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkBooleanCellRenderer;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
@@ -450,7 +451,12 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants, Ha
                 c.repaint(r);
             }
         }
-        super.paint(g, c);
+        CellRenderingContext context = CellRenderingContext.begin(table);
+        try {
+            super.paint(g, c);
+        } finally {
+            context.end();
+        }
     }
 
     public static boolean ignoreKeyCodeOnEdit(final KeyEvent event, final JTable table) {
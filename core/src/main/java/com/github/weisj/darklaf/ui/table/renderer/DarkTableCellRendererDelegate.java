@@ -29,11 +29,10 @@ import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 
 import com.github.weisj.darklaf.delegate.TableCellRendererDelegate;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
-import com.github.weisj.darklaf.ui.table.DarkTableCellFocusBorder;
 import com.github.weisj.darklaf.ui.table.DarkTableUI;
 import com.github.weisj.darklaf.ui.table.TableConstants;
-import com.github.weisj.darklaf.ui.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class DarkTableCellRendererDelegate extends TableCellRendererDelegate implements TableConstants {
@@ -54,15 +53,16 @@ public class DarkTableCellRendererDelegate extends TableCellRendererDelegate imp
     public Component getTableCellRendererComponent(final JTable table, final Object value, final boolean isSelected,
             final boolean hasFocus, final int row, final int column) {
         boolean booleanRenderer = useBooleanRenderer(table, value, column);
-        boolean isRowFocus = DarkTableCellFocusBorder.isRowFocusBorder(table)
-                && table.getSelectionModel().getLeadSelectionIndex() == row;
         boolean rowLeadSelection = table.getSelectionModel().getLeadSelectionIndex() == row;
+        boolean fullRowFocusBorder =
+                CellRenderingContext.getBooleanProperty(table, TableConstants.KEY_FULL_ROW_FOCUS_BORDER);
+        boolean isRowFocus = fullRowFocusBorder && rowLeadSelection;
         boolean columnLeadSelection = table.getColumnModel().getSelectionModel().getLeadSelectionIndex() == column;
-        if (rowLeadSelection && !columnLeadSelection
-                && PropertyUtil.getBooleanProperty(table, TableConstants.KEY_FULL_ROW_FOCUS_BORDER)) {
+        if (rowLeadSelection && !columnLeadSelection && fullRowFocusBorder) {
             columnLeadSelection = true;
         }
-        boolean isLeadSelectionCell = DarkUIUtil.hasFocus(table) && rowLeadSelection && columnLeadSelection;
+        boolean isLeadSelectionCell =
+                rowLeadSelection && columnLeadSelection && CellRenderingContext.hasFocus(table);
         boolean paintSelected = isSelected && !isLeadSelectionCell;
 
         Component delegateComp = getDelegate()
@@ -98,7 +98,7 @@ public class DarkTableCellRendererDelegate extends TableCellRendererDelegate imp
 
     public void setupBorderStyle(final JTable table, final int row, final int column, final JComponent component,
             final boolean isLeadSelectionCell, final boolean isRowFocus) {
-        Border focusBorder = UIManager.getBorder("Table.focusSelectedCellHighlightBorder");
+        Border focusBorder = CellRenderingContext.getBorder(table, "Table.focusSelectedCellHighlightBorder");
         if ((isRowFocus || isLeadSelectionCell) && !table.isEditing()) {
             PropertyUtil.installBorder(component, focusBorder);
             if (isRowFocus) {
@@ -119,7 +119,7 @@ public class DarkTableCellRendererDelegate extends TableCellRendererDelegate imp
             }
         } else if (component.getBorder() == focusBorder
                 || focusBorder.getClass().isInstance(component.getBorder())) {
-            component.setBorder(UIManager.getBorder("Table.cellNoFocusBorder"));
+            component.setBorder(CellRenderingContext.getBorder(table, "Table.cellNoFocusBorder"));
         }
     }
 }
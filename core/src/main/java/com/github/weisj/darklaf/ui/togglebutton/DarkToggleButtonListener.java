@@ -28,6 +28,7 @@ import javax.swing.event.ChangeEvent;
 
 import com.github.weisj.darklaf.graphics.Animator;
 import com.github.weisj.darklaf.graphics.DefaultInterpolator;
+import com.github.weisj.darklaf.graphics.FrameRepaintScheduler;
 import com.github.weisj.darklaf.ui.button.DarkButtonListener;
 import com.github.weisj.darklaf.util.PropertyKey;
 
@@ -123,7 +124,7 @@ public class DarkToggleButtonListener extends DarkButtonListener<DarkToggleButto
 
         private void repaint() {
             if (c != null) {
-                c.paintImmediately(animationBounds != null ? animationBounds : c.getVisibleRect());
+                FrameRepaintScheduler.repaint(c, animationBounds != null ? animationBounds : c.getVisibleRect());
             }
         }
 
@@ -29,12 +29,11 @@ import javax.swing.tree.TreeCellRenderer;
 
 import com.github.weisj.darklaf.components.tristate.TristateState;
 import com.github.weisj.darklaf.delegate.TreeCellRendererDelegate;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.ComponentBasedTreeCellRenderer;
 import com.github.weisj.darklaf.ui.cell.DarkBooleanCellRenderer;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererTristateButton;
-import com.github.weisj.darklaf.ui.util.DarkUIUtil;
-import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class DarkTreeCellRendererDelegate extends TreeCellRendererDelegate implements TreeRendererSupport {
 
@@ -49,7 +48,7 @@ public class DarkTreeCellRendererDelegate extends TreeCellRendererDelegate imple
     @Override
     public Component getTreeCellRendererComponent(final JTree tree, final Object value, final boolean selected,
             final boolean expanded, final boolean leaf, final int row, final boolean hasFocus) {
-        boolean isFocused = DarkUIUtil.hasFocus(tree);
+        boolean isFocused = CellRenderingContext.hasFocus(tree);
         Object unwrapped = unwrapValue(value);
         Component renderer;
         if (unwrapped instanceof Boolean && isBooleanRenderingEnabled(tree)) {
@@ -108,7 +107,7 @@ public class DarkTreeCellRendererDelegate extends TreeCellRendererDelegate imple
     }
 
     protected static boolean isBooleanRenderingEnabled(final JTree tree) {
-        return PropertyUtil.getBooleanProperty(tree, DarkTreeUI.KEY_RENDER_BOOLEAN_AS_CHECKBOX);
+        return CellRenderingContext.getBooleanProperty(tree, DarkTreeUI.KEY_RENDER_BOOLEAN_AS_CHECKBOX);
     }
 
     protected DarkBooleanCellRenderer getBooleanRenderer() {
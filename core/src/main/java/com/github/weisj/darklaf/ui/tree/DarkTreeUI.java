@@ -41,6 +41,7 @@ import com.github.weisj.darklaf.platform.SystemInfo;
 import com.github.weisj.darklaf.properties.icons.RotatableIcon;
 import com.github.weisj.darklaf.ui.HasRendererPane;
 import com.github.weisj.darklaf.ui.cell.CellConstants;
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
 import com.github.weisj.darklaf.ui.cell.hint.CellHintPopupListener;
@@ -95,6 +96,7 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     private int dashLength;
     private int dashGapLength;
     private DarkTreeExpansionAnimationListener treeExpansionAnimationListener;
+    private final TreeLegPaintCache legPaintCache = new TreeLegPaintCache();
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTreeUI();
@@ -277,8 +279,20 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         if (treeState == null) {
             return;
         }
-        Rectangle paintBounds = g.getClipBounds();
+        CellRenderingContext context = CellRenderingContext.begin(tree);
+        legPaintCache.begin(tree, getLineStyle());
+        try {
+            paintRows(g, g.getClipBounds());
+        } finally {
+            legPaintCache.end();
+            context.end();
+        }
+        paintDropLine(g);
+        // Empty out the renderer pane, allowing renderers to be gc'ed.
+        rendererPane.removeAll();
+    }
 
+    private void paintRows(final Graphics g, final Rectangle paintBounds) {
         Insets insets = tree.getInsets();
         TreePath initialPath = getClosestPathForLocation(tree, 0, paintBounds.y);
         Enumeration<?> paintingEnumerator = treeState.getVisiblePathsFrom(initialPath);
@@ -297,9 +311,6 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
                 row++;
             }
         }
-        paintDropLine(g);
-        // Empty out the renderer pane, allowing renderers to be gc'ed.
-        rendererPane.removeAll();
     }
 
     public void paintRow(final Graphics g, final int row) {
@@ -309,7 +320,13 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         Rectangle rowBounds = getPathBounds(path, insets, boundsBuffer);
         g.translate(0, -rowBounds.y);
         paintBounds.y += rowBounds.y;
-        paintSingleRow(g, paintBounds, insets, path, row);
+        boolean beginPass = !legPaintCache.isActive();
+        if (beginPass) legPaintCache.begin(tree, getLineStyle());
+        try {
+            paintSingleRow(g, paintBounds, insets, path, row);
+        } finally {
+            if (beginPass) legPaintCache.end();
+        }
         rendererPane.removeAll();
         g.translate(0, rowBounds.y);
     }
@@ -379,21 +396,24 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         }
         int clipLeft = clipBounds.x;
         int clipRight = clipBounds.x + (clipBounds.width - 1);
+        boolean leftToRight = tree.getComponentOrientation().isLeftToRight();
+        int rightChildIndent = getRightChildIndent();
 
         TreePath parentPath = path;
         for (int currentDepth = depth - 1; currentDepth >= 0; currentDepth--) {
             if (currentDepth == 0 && !isRootVisible()) continue;
 
             int lineX = getRowX(-1, currentDepth);
-            if (tree.getComponentOrientation().isLeftToRight()) {
-                lineX = lineX - getRightChildIndent() + insets.left;
+            if (leftToRight) {
+                lineX = lineX - rightChildIndent + insets.left;
             } else {
-                lineX = tree.getWidth() - lineX - insets.right + getRightChildIndent() - 1;
+                lineX = tree.getWidth() - lineX - insets.right + rightChildIndent - 1;
             }
 
+            // The line at this depth belongs to the parent, even if it isn't painted.
+            parentPath = parentPath.getParentPath();
             if (lineX > clipRight || lineX < clipLeft) continue;
 
-            parentPath = parentPath.getParentPath();
             g.setColor(getLineColor(parentPath));
             paintVerticalLine(g, tree, lineX, rowBounds.y, rowBounds.y + rowBounds.height);
         }
@@ -478,10 +498,12 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
     }
 
     protected String getLineStyle() {
+        if (legPaintCache.isActive()) return legPaintCache.getLineStyle();
         return PropertyUtil.getString(tree, KEY_LINE_STYLE, "");
     }
 
     protected boolean isChildOfSelectionPath(final TreePath path) {
+        if (legPaintCache.isActive()) return legPaintCache.isChildOfSelectionPath(path);
         TreePath p = tree.isEditing() ? tree.getEditingPath() : tree.getSelectionPath();
         if (p == null) return false;
         if (Objects.equals(p, path)) return true;
@@ -503,10 +525,8 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
         Graphics2D g2d = (Graphics2D) g;
         Stroke oldStroke = g2d.getStroke();
 
-        float[] dash = {dashLength, dashGapLength};
-        float phase = y1 % (dashLength + dashGapLength);
-        BasicStroke dashedStroke = new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 0, dash, phase);
-        g2d.setStroke(dashedStroke);
+        int phase = y1 % (dashLength + dashGapLength);
+        g2d.setStroke(legPaintCache.getDashedStroke(dashLength, dashGapLength, phase));
         g2d.drawLine(x, y1, x, y2);
         g2d.setStroke(oldStroke);
     }
@@ -528,7 +548,7 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener, C
 
     protected void paintExpandControl(final Graphics g, final Rectangle bounds, final TreePath path,
             final int row, final boolean isExpanded, final boolean isLeaf, final boolean isFocused) {
-        if (!isLeaf(row)) {
+        if (!isLeaf) {
             boolean isPathSelected = tree.isPathSelected(path);
             setExpandedIcon(getExpandedIcon(isPathSelected, isFocused || tree.isEditing()));
             setCollapsedIcon(getCollapsedIcon(isPathSelected, isFocused || tree.isEditing()));
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import java.awt.*;
+import java.util.Objects;
+
+import javax.swing.*;
+import javax.swing.tree.TreePath;
+
+/**
+ * State used to paint the legs of a tree. Everything which only depends on the tree itself is
+ * resolved once per paint pass instead of once per painted line.
+ *
+ * @author Jannis Weis
+ */
+final class TreeLegPaintCache {
+
+    private boolean active;
+    private String lineStyle;
+    private TreePath selectionPath;
+    private boolean selectionExpanded;
+    private Object selectionParent;
+
+    private int dashLength;
+    private int dashGapLength;
+    private BasicStroke[] dashedStrokes;
+
+    void begin(final JTree tree, final String style) {
+        active = true;
+        lineStyle = style;
+        selectionPath = tree.isEditing() ? tree.getEditingPath() : tree.getSelectionPath();
+        selectionExpanded = selectionPath != null && tree.isExpanded(selectionPath);
+        TreePath parent = selectionPath != null ? selectionPath.getParentPath() : null;
+        selectionParent = parent != null ? parent.getLastPathComponent() : null;
+    }
+
+    void end() {
+        active = false;
+        lineStyle = null;
+        selectionPath = null;
+        selectionParent = null;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    String getLineStyle() {
+        return lineStyle;
+    }
+
+    /**
+     * Same as {@link DarkTreeUI#isChildOfSelectionPath(TreePath)} using the selection at the start of
+     * the paint pass.
+     *
+     * @param path the path.
+     * @return true if the path is the selection path or the parent of a collapsed selection path.
+     */
+    boolean isChildOfSelectionPath(final TreePath path) {
+        if (selectionPath == null) return false;
+        if (Objects.equals(selectionPath, path)) return true;
+        if (selectionExpanded || selectionParent == null) return false;
+        return Objects.equals(selectionParent, path.getLastPathComponent());
+    }
+
+    BasicStroke getDashedStroke(final int length, final int gapLength, final int phase) {
+        int period = length + gapLength;
+        if (phase < 0 || phase >= period) return createDashedStroke(length, gapLength, phase);
+        if (dashedStrokes == null || length != dashLength || gapLength != dashGapLength) {
+            dashLength = length;
+            dashGapLength = gapLength;
+            dashedStrokes = new BasicStroke[period];
+        }
+        BasicStroke stroke = dashedStrokes[phase];
+        if (stroke == null) {
+            stroke = createDashedStroke(length, gapLength, phase);
+            dashedStrokes[phase] = stroke;
+        }
+        return stroke;
+    }
+
+    private static BasicStroke createDashedStroke(final int length, final int gapLength, final int phase) {
+        float[] dash = {length, gapLength};
+        return new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 0, dash, phase);
+    }
+}
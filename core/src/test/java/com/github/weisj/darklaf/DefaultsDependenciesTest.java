@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.swing.JLabel;
+import javax.swing.UIDefaults;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.properties.PropertyLoader;
+import com.github.weisj.darklaf.properties.icons.IconLoader;
+
+class DefaultsDependenciesTest {
+
+    @Test
+    void testChangedKeys() {
+        Map<Object, Object> previous = new HashMap<>();
+        previous.put("a", Color.RED);
+        previous.put("b", Color.RED);
+        previous.put("c", lazyValue());
+        previous.put("d", 1);
+        Map<Object, Object> current = new HashMap<>();
+        current.put("a", new Color(255, 0, 0));
+        current.put("b", Color.BLUE);
+        current.put("c", lazyValue());
+        current.put("e", 1);
+        previous.put("f", (UIDefaults.LazyValue) table -> "lazy");
+        current.put("f", (UIDefaults.LazyValue) table -> "lazy");
+
+        // Lambdas may capture anything, hence they are always considered changed.
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("b", "d", "e", "f")),
+                DefaultsDependencies.changedKeys(previous, current));
+    }
+
+    @Test
+    void testChangedBorderClassIsDetected() {
+        Map<Object, Object> first = loadBorder("javax.swing.border.EmptyBorder");
+        Map<Object, Object> second = loadBorder("javax.swing.border.EtchedBorder");
+        Map<Object, Object> third = loadBorder("javax.swing.border.EtchedBorder");
+
+        Assertions.assertEquals(Collections.singleton("DefaultsDependenciesTest.border"),
+                DefaultsDependencies.changedKeys(first, second));
+        Assertions.assertEquals(Collections.emptySet(), DefaultsDependencies.changedKeys(second, third));
+    }
+
+    @Test
+    void testLazyValueDependenciesAreAttributed() {
+        DependencyTrackingDefaults defaults = new DependencyTrackingDefaults(16, 0.75f);
+        defaults.put("DefaultsDependenciesTest.color", Color.RED);
+        defaults.put("DefaultsDependenciesTest.lazy",
+                (UIDefaults.LazyValue) table -> table.get("DefaultsDependenciesTest.color"));
+        // Resolve the value outside of any component installation.
+        Assertions.assertEquals(Color.RED, defaults.get("DefaultsDependenciesTest.lazy"));
+
+        JLabel label = new JLabel() {
+            @Override
+            public void updateUI() {
+                defaults.get("DefaultsDependenciesTest.lazy");
+            }
+        };
+        DefaultsDependencies.updateUI(label);
+
+        Set<Object> dependencies = DefaultsDependencies.getDependencies(label.getClass());
+        Assertions.assertTrue(dependencies.contains("DefaultsDependenciesTest.lazy"));
+        Assertions.assertTrue(dependencies.contains("DefaultsDependenciesTest.color"));
+        Assertions.assertTrue(DefaultsDependencies.intersects(dependencies,
+                Collections.singleton("DefaultsDependenciesTest.color")));
+        Assertions.assertFalse(DefaultsDependencies.intersects(dependencies,
+                Collections.singleton("DefaultsDependenciesTest.other")));
+    }
+
+    private static Map<Object, Object> loadBorder(final String borderClass) {
+        Properties properties = new Properties();
+        properties.put("DefaultsDependenciesTest.border", borderClass);
+        UIDefaults defaults = new UIDefaults();
+        PropertyLoader.putProperties(properties, defaults, IconLoader.get(DefaultsDependenciesTest.class));
+        // Don't use UIDefaults#get as it resolves lazy values.
+        return new HashMap<>(defaults);
+    }
+
+    private static UIDefaults.LazyValue lazyValue() {
+        return new TestLazyValue();
+    }
+
+    private static final class TestLazyValue implements UIDefaults.LazyValue {
+        @Override
+        public Object createValue(final UIDefaults table) {
+            return "lazy";
+        }
+    }
+}
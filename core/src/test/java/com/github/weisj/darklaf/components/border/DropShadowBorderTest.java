@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.border;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
+class DropShadowBorderTest {
+
+    @Test
+    void testBlurMatchesConvolution() {
+        int width = 40;
+        int height = 30;
+        Random random = new Random(0);
+        int[] values = new int[width * height];
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(256);
+            image.setRGB(i % width, i / width, values[i] << 24);
+        }
+        for (int kernelSize = 1; kernelSize <= 6; kernelSize++) {
+            float[] kernel = new float[kernelSize * kernelSize];
+            Arrays.fill(kernel, 1f / kernel.length);
+            BufferedImage expected = new ConvolveOp(new Kernel(kernelSize, kernelSize, kernel)).filter(image, null);
+            int[] actual = DropShadowBorder.blur(values, width, height, kernelSize, kernelSize);
+
+            // ConvolveOp zeroes the edges, so only compare the interior.
+            for (int y = kernelSize; y < height - kernelSize; y++) {
+                for (int x = kernelSize; x < width - kernelSize; x++) {
+                    int expectedAlpha = expected.getRGB(x, y) >>> 24;
+                    Assertions.assertTrue(Math.abs(expectedAlpha - actual[y * width + x]) <= 1,
+                            "Kernel " + kernelSize + " at (" + x + "," + y + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testShadowsAreCachedPerScale() {
+        DropShadowBorder.clearCache();
+        CacheStatistics before = DropShadowBorder.getCacheStatistics();
+        DropShadowBorder border = new DropShadowBorder(Color.BLACK, 8, 0.5f, 6);
+        paint(border, 1);
+        paint(border, 1);
+        paint(border, 2);
+        CacheStatistics after = DropShadowBorder.getCacheStatistics();
+        Assertions.assertEquals(2, after.getMissCount() - before.getMissCount());
+        Assertions.assertEquals(1, after.getHitCount() - before.getHitCount());
+    }
+
+    private static void paint(final DropShadowBorder border, final double scale) {
+        BufferedImage image = new BufferedImage((int) (60 * scale), (int) (60 * scale), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        border.paintBorder(new JPanel(), g, 0, 0, 60, 60);
+        g.dispose();
+    }
+}
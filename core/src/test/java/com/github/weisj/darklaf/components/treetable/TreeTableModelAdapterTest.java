@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.components.treetable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableModel;
+import com.github.weisj.darklaf.components.treetable.model.DefaultTreeTableNode;
+
+class TreeTableModelAdapterTest {
+
+    private static DefaultTreeTableModel createModel(final int childCount, final int grandChildCount) {
+        DefaultTreeTableNode root = new DefaultTreeTableNode(null, new Object[] {"root"});
+        for (int i = 0; i < childCount; i++) {
+            DefaultTreeTableNode child = new DefaultTreeTableNode(root, new Object[] {"child" + i});
+            for (int j = 0; j < grandChildCount; j++) {
+                child.addChild(new DefaultTreeTableNode(child, new Object[] {"leaf" + j}));
+            }
+            root.addChild(child);
+        }
+        return new DefaultTreeTableModel(root, new String[] {"Name"});
+    }
+
+    private static List<TableModelEvent> recordEvents(final TreeTableModelAdapter adapter) {
+        List<TableModelEvent> events = new ArrayList<>();
+        adapter.addTableModelListener(events::add);
+        return events;
+    }
+
+    private static void assertEvent(final TableModelEvent e, final int type, final int firstRow, final int lastRow) {
+        Assertions.assertEquals(type, e.getType());
+        Assertions.assertEquals(firstRow, e.getFirstRow());
+        Assertions.assertEquals(lastRow, e.getLastRow());
+    }
+
+    @Test
+    void testExpansionsWithinEventAreMerged() throws Exception {
+        DefaultTreeTableModel model = createModel(10, 5);
+        List<TableModelEvent> events = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            JTree tree = new JTree(model);
+            TreeTableModelAdapter adapter = new TreeTableModelAdapter(model, tree);
+            adapter.addTableModelListener(events::add);
+            tree.expandRow(3);
+            tree.expandRow(1);
+            Assertions.assertTrue(events.isEmpty());
+        });
+        SwingUtilities.invokeAndWait(() -> {});
+        // The nodes in rows 2 and 3 have moved between the two inserted ranges.
+        Assertions.assertEquals(2, events.size());
+        assertEvent(events.get(0), TableModelEvent.INSERT, 4, 13);
+        assertEvent(events.get(1), TableModelEvent.UPDATE, 2, 3);
+    }
+
+    @Test
+    void testBulkExpansion() {
+        DefaultTreeTableModel model = createModel(100, 1000);
+        JTree tree = new JTree(model);
+        TreeTableModelAdapter adapter = new TreeTableModelAdapter(model, tree);
+        List<TableModelEvent> events = recordEvents(adapter);
+
+        adapter.beginUpdate();
+        for (int i = tree.getRowCount() - 1; i > 0; i--) {
+            tree.expandRow(i);
+        }
+        Assertions.assertTrue(events.isEmpty());
+        adapter.endUpdate();
+
+        Assertions.assertEquals(100 * 1000 + 101, adapter.getRowCount());
+        Assertions.assertEquals(2, events.size());
+        assertEvent(events.get(0), TableModelEvent.INSERT, 101, 100 * 1000 + 100);
+        assertEvent(events.get(1), TableModelEvent.UPDATE, 2, 100);
+
+        events.clear();
+        adapter.beginUpdate();
+        tree.collapseRow(1);
+        tree.collapseRow(2);
+        adapter.endUpdate();
+        Assertions.assertEquals(100 * 1000 + 101 - 2000, adapter.getRowCount());
+        Assertions.assertEquals(2, events.size());
+        assertEvent(events.get(0), TableModelEvent.DELETE, 3, 2002);
+        assertEvent(events.get(1), TableModelEvent.UPDATE, 2, 2);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.JTable;
+import javax.swing.JTree;
+import javax.swing.UIManager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.ui.cell.CellRenderingContext;
+import com.github.weisj.darklaf.ui.table.DarkTableUI;
+import com.github.weisj.darklaf.ui.table.TableConstants;
+import com.github.weisj.darklaf.ui.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+class CellRenderingContextTest implements NonThreadSafeTest {
+
+    @BeforeAll
+    static void setup() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void testContextIsClosedIfRendererFails() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JList<String> list = new JList<>(new String[] {"Item"});
+            list.setCellRenderer((l, value, index, isSelected, cellHasFocus) -> {
+                Assertions.assertNotNull(CellRenderingContext.get(l));
+                throw new IllegalStateException("Expected failure");
+            });
+            assertPaintFails(list);
+
+            JTable table = new JTable(1, 1);
+            table.setDefaultRenderer(Object.class, (t, value, isSelected, hasFocus, row, column) -> {
+                Assertions.assertNotNull(CellRenderingContext.get(t));
+                throw new IllegalStateException("Expected failure");
+            });
+            assertPaintFails(table);
+
+            JTree tree = new JTree();
+            tree.setCellRenderer((t, value, selected, expanded, leaf, row, hasFocus) -> {
+                Assertions.assertNotNull(CellRenderingContext.get(t));
+                throw new IllegalStateException("Expected failure");
+            });
+            assertPaintFails(tree);
+        });
+    }
+
+    @Test
+    void testFallbacksMatchLookups() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JTable table = new JTable(1, 1);
+            for (Object value : new Object[] {null, "true", true, false}) {
+                table.putClientProperty(DarkTableUI.KEY_ALTERNATE_ROW_COLOR, value);
+                table.putClientProperty(TableConstants.KEY_FULL_ROW_FOCUS_BORDER, value);
+                assertMatchesLookups(table);
+            }
+
+            // Within a paint pass the context resolves the same values.
+            CellRenderingContext context = CellRenderingContext.begin(table);
+            try {
+                Assertions.assertSame(context, CellRenderingContext.get(table));
+                Assertions.assertNull(CellRenderingContext.get(new JTable()));
+                assertMatchesLookups(table);
+            } finally {
+                context.end();
+            }
+            Assertions.assertNull(CellRenderingContext.get(table));
+        });
+    }
+
+    private static void assertMatchesLookups(final JTable table) {
+        Assertions.assertEquals(DarkUIUtil.hasFocus(table), CellRenderingContext.hasFocus(table));
+        Assertions.assertEquals(PropertyUtil.getBooleanProperty(table, DarkTableUI.KEY_ALTERNATE_ROW_COLOR),
+                CellRenderingContext.getBooleanProperty(table, DarkTableUI.KEY_ALTERNATE_ROW_COLOR));
+        Assertions.assertEquals(PropertyUtil.getBooleanProperty(table, TableConstants.KEY_FULL_ROW_FOCUS_BORDER),
+                CellRenderingContext.getBooleanProperty(table, TableConstants.KEY_FULL_ROW_FOCUS_BORDER));
+        for (String key : new String[] {"Table.focusSelectedCellHighlightBorder", "Table.cellNoFocusBorder"}) {
+            Assertions.assertNotNull(UIManager.getBorder(key));
+            Assertions.assertSame(UIManager.getBorder(key), CellRenderingContext.getBorder(table, key));
+        }
+    }
+
+    private static void assertPaintFails(final JComponent c) {
+        c.setSize(100, 100);
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            Assertions.assertThrows(IllegalStateException.class, () -> c.paint(g));
+        } finally {
+            g.dispose();
+        }
+        Assertions.assertNull(CellRenderingContext.get(c));
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.AbstractListModel;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.ui.list.DarkListUI;
+
+class ListLayoutTest implements NonThreadSafeTest {
+
+    private static final int START = 0;
+    private static final int MIDDLE = 1;
+    private static final int END = 2;
+
+    @BeforeAll
+    static void setup() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void testModelChangesMatchFreshLayout() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            RowModel model = new RowModel();
+            for (int i = 0; i < 30; i++) {
+                model.values.add(i);
+            }
+            JList<Integer> list = createList(model);
+            assertMatchesFreshLayout(list, model, "initial");
+
+            int[] position = {START, MIDDLE, END};
+            for (int count = 1; count <= 3; count += 2) {
+                for (int p : position) {
+                    model.add(index(p, model.getSize(), 0), count);
+                    assertMatchesFreshLayout(list, model, "added " + count + " at " + p);
+                }
+                for (int p : position) {
+                    model.change(index(p, model.getSize(), count), count);
+                    assertMatchesFreshLayout(list, model, "changed " + count + " at " + p);
+                }
+                for (int p : position) {
+                    model.remove(index(p, model.getSize(), count), count);
+                    assertMatchesFreshLayout(list, model, "removed " + count + " at " + p);
+                }
+            }
+
+            model.remove(0, model.getSize());
+            assertMatchesFreshLayout(list, model, "removed all");
+            model.add(0, 5);
+            assertMatchesFreshLayout(list, model, "added to empty list");
+        });
+    }
+
+    @Test
+    void testSampledMeasurementOnlyRendersVisibleRows() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            int rowCount = 10 * SampleSize.VALUE;
+            RowModel model = new RowModel();
+            for (int i = 0; i < rowCount; i++) {
+                model.values.add(i);
+            }
+            // The rows in the middle are taller than the estimated height.
+            int middle = rowCount / 2;
+            TallRowsRenderer renderer = new TallRowsRenderer(middle - SampleSize.VALUE, middle + SampleSize.VALUE);
+            JList<Integer> list = new JList<>(model);
+            list.putClientProperty(DarkListUI.KEY_SAMPLED_MEASUREMENT, true);
+            list.setCellRenderer(renderer);
+            JScrollPane scrollPane = new JScrollPane(list);
+            scrollPane.setSize(200, 200);
+            scrollPane.doLayout();
+            scrollPane.getViewport().doLayout();
+            paintVisibleRect(list);
+
+            int visibleRows = list.getLastVisibleIndex() - list.getFirstVisibleIndex() + 1;
+            assertVisibleRowsRendered(list, renderer.rendered);
+            int maxRendered = list.getVisibleRowCount() + SampleSize.VALUE + visibleRows;
+            Assertions.assertTrue(renderer.rendered.size() <= maxRendered, "Rendered " + renderer.rendered.size());
+
+            int preferredHeight = list.getPreferredSize().height;
+            renderer.rendered.clear();
+            scrollPane.getViewport().setViewPosition(new Point(0, preferredHeight / 2));
+            paintVisibleRect(list);
+            // Only the rows scrolled into view are measured and painted.
+            int first = list.getFirstVisibleIndex();
+            int last = list.getLastVisibleIndex();
+            assertVisibleRowsRendered(list, renderer.rendered);
+            Assertions.assertEquals(last - first + 1, renderer.rendered.size());
+            for (int i = first; i <= last; i++) {
+                Assertions.assertEquals(TallRowsRenderer.TALL_HEIGHT, list.getCellBounds(i, i).height, "Row " + i);
+            }
+            Assertions.assertTrue(list.getPreferredSize().height > preferredHeight);
+        });
+    }
+
+    private static void paintVisibleRect(final JList<?> list) {
+        Rectangle visibleRect = list.getVisibleRect();
+        Assertions.assertFalse(visibleRect.isEmpty());
+        BufferedImage image = new BufferedImage(visibleRect.width, visibleRect.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.translate(-visibleRect.x, -visibleRect.y);
+            g.setClip(visibleRect);
+            list.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static void assertVisibleRowsRendered(final JList<?> list, final Set<Integer> rendered) {
+        for (int i = list.getFirstVisibleIndex(); i <= list.getLastVisibleIndex(); i++) {
+            Assertions.assertTrue(rendered.contains(i), "Row " + i + " isn't rendered");
+        }
+    }
+
+    private static int index(final int position, final int size, final int count) {
+        switch (position) {
+            case START:
+                return 0;
+            case MIDDLE:
+                return (size - count) / 2;
+            default:
+                return size - count;
+        }
+    }
+
+    private static JList<Integer> createList(final RowModel model) {
+        JList<Integer> list = new JList<>(model);
+        list.setCellRenderer(new SizedRenderer());
+        return list;
+    }
+
+    private static void assertMatchesFreshLayout(final JList<Integer> list, final RowModel model,
+            final String message) {
+        RowModel freshModel = new RowModel();
+        freshModel.values.addAll(model.values);
+        JList<Integer> fresh = createList(freshModel);
+
+        Assertions.assertEquals(fresh.getPreferredSize(), list.getPreferredSize(), message);
+        int size = model.getSize();
+        for (int i = 0; i < size; i++) {
+            Rectangle bounds = fresh.getCellBounds(i, i);
+            Assertions.assertEquals(bounds, list.getCellBounds(i, i), message + ", row " + i);
+            for (int y : new int[] {bounds.y, bounds.y + bounds.height / 2, bounds.y + bounds.height - 1}) {
+                Point p = new Point(bounds.x, y);
+                Assertions.assertEquals(fresh.locationToIndex(p), list.locationToIndex(p), message + ", y = " + y);
+            }
+        }
+        Point below = new Point(0, fresh.getPreferredSize().height + 10);
+        Assertions.assertEquals(fresh.locationToIndex(below), list.locationToIndex(below), message);
+    }
+
+    /*
+     * The size of each row depends on its value such that changes move the following rows.
+     */
+    private static final class SizedRenderer implements ListCellRenderer<Integer> {
+
+        private final JLabel label = new JLabel();
+
+        @Override
+        public JLabel getListCellRendererComponent(final JList<? extends Integer> list, final Integer value,
+                final int index, final boolean isSelected, final boolean cellHasFocus) {
+            label.setText(String.valueOf(value));
+            label.setPreferredSize(new Dimension(40 + (value % 5) * 10, 10 + (value % 4) * 6));
+            return label;
+        }
+    }
+
+    private static final class TallRowsRenderer implements ListCellRenderer<Integer> {
+
+        private static final int TALL_HEIGHT = 40;
+
+        private final JLabel label = new JLabel();
+        private final Set<Integer> rendered = new HashSet<>();
+        private final int tallStart;
+        private final int tallEnd;
+
+        private TallRowsRenderer(final int tallStart, final int tallEnd) {
+            this.tallStart = tallStart;
+            this.tallEnd = tallEnd;
+        }
+
+        @Override
+        public JLabel getListCellRendererComponent(final JList<? extends Integer> list, final Integer value,
+                final int index, final boolean isSelected, final boolean cellHasFocus) {
+            rendered.add(index);
+            label.setText(String.valueOf(value));
+            int height = value >= tallStart && value < tallEnd ? TALL_HEIGHT : 16;
+            label.setPreferredSize(new Dimension(50, height));
+            return label;
+        }
+    }
+
+    /*
+     * Exposes the number of rows sampled by the list layout.
+     */
+    private static final class SampleSize extends DarkListUI {
+
+        private static final int VALUE = MEASUREMENT_SAMPLE_SIZE;
+    }
+
+    private static final class RowModel extends AbstractListModel<Integer> {
+
+        private final List<Integer> values = new ArrayList<>();
+        private int nextValue = 100;
+
+        @Override
+        public int getSize() {
+            return values.size();
+        }
+
+        @Override
+        public Integer getElementAt(final int index) {
+            return values.get(index);
+        }
+
+        private void add(final int index, final int count) {
+            for (int i = 0; i < count; i++) {
+                values.add(index + i, nextValue++);
+            }
+            fireIntervalAdded(this, index, index + count - 1);
+        }
+
+        private void remove(final int index, final int count) {
+            values.subList(index, index + count).clear();
+            fireIntervalRemoved(this, index, index + count - 1);
+        }
+
+        private void change(final int index, final int count) {
+            for (int i = 0; i < count; i++) {
+                values.set(index + i, nextValue++);
+            }
+            fireContentsChanged(this, index, index + count - 1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Insets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.UIDefaults;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+import com.github.weisj.darklaf.theme.Theme;
+
+class ParallelPropertyLoadingTest implements NonThreadSafeTest {
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty(ThemeDefaultsInitTask.PARALLEL_LOADING_FLAG);
+    }
+
+    @Test
+    void testParallelLoadingMatchesSequentialLoading() {
+        for (Theme theme : LafManager.getRegisteredThemes()) {
+            System.clearProperty(ThemeDefaultsInitTask.PARALLEL_LOADING_FLAG);
+            Map<Object, Object> sequential = loadDefaults(theme);
+            System.setProperty(ThemeDefaultsInitTask.PARALLEL_LOADING_FLAG, "true");
+            Map<Object, Object> parallel = loadDefaults(theme);
+
+            String themeName = theme.getDisplayName();
+            Assertions.assertEquals(sequential.keySet(), parallel.keySet(), themeName);
+            for (Map.Entry<Object, Object> entry : sequential.entrySet()) {
+                Object value = entry.getValue();
+                Object parallelValue = parallel.get(entry.getKey());
+                String message = themeName + ": " + entry.getKey();
+                if (value instanceof Color || value instanceof Font || value instanceof Insets
+                        || value instanceof Dimension || value instanceof Number || value instanceof Boolean
+                        || value instanceof String) {
+                    Assertions.assertEquals(value, parallelValue, message);
+                } else {
+                    Assertions.assertEquals(value != null ? value.getClass() : null,
+                            parallelValue != null ? parallelValue.getClass() : null, message);
+                }
+            }
+        }
+    }
+
+    private static Map<Object, Object> loadDefaults(final Theme theme) {
+        UIDefaults defaults = new DarkLaf() {
+            @Override
+            public Theme getTheme() {
+                return theme;
+            }
+        }.getDefaults();
+        // Don't use UIDefaults#get as it resolves lazy and active values.
+        return new HashMap<>(defaults);
+    }
+}
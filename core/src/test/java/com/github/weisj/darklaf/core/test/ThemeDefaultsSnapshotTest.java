@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Insets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.UIDefaults;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
+
+class ThemeDefaultsSnapshotTest implements NonThreadSafeTest {
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty(ThemeDefaultsInitTask.DEFAULTS_SNAPSHOT_FLAG);
+    }
+
+    @Test
+    void testSnapshotMatchesParsedDefaults() {
+        Map<Object, Object> parsed = rawValues(new DarkLaf().getDefaults());
+
+        System.setProperty(ThemeDefaultsInitTask.DEFAULTS_SNAPSHOT_FLAG, "true");
+        Map<Object, Object> recorded = rawValues(new DarkLaf().getDefaults());
+        Map<Object, Object> fromSnapshot = rawValues(new DarkLaf().getDefaults());
+
+        Assertions.assertEquals(parsed.keySet(), recorded.keySet());
+        Assertions.assertEquals(parsed.keySet(), fromSnapshot.keySet());
+        for (Map.Entry<Object, Object> entry : parsed.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Color || value instanceof Font || value instanceof Insets
+                    || value instanceof Dimension || value instanceof Number || value instanceof Boolean
+                    || value instanceof String) {
+                Assertions.assertEquals(value, fromSnapshot.get(entry.getKey()), entry.getKey().toString());
+            }
+        }
+    }
+
+    @Test
+    void testSnapshotKeepsLazyAndActiveValues() {
+        UIDefaults parsed = new DarkLaf().getDefaults();
+        Map<Object, Object> parsedValues = rawValues(parsed);
+
+        System.setProperty(ThemeDefaultsInitTask.DEFAULTS_SNAPSHOT_FLAG, "true");
+        new DarkLaf().getDefaults();
+        UIDefaults fromSnapshot = new DarkLaf().getDefaults();
+        Map<Object, Object> snapshotValues = rawValues(fromSnapshot);
+
+        int lazyCount = 0;
+        for (Map.Entry<Object, Object> entry : parsedValues.entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof UIDefaults.LazyValue) && !(value instanceof UIDefaults.ActiveValue)) continue;
+            Object key = entry.getKey();
+            Object snapshotValue = snapshotValues.get(key);
+            Assertions.assertEquals(value instanceof UIDefaults.LazyValue,
+                    snapshotValue instanceof UIDefaults.LazyValue, key.toString());
+            Assertions.assertEquals(value instanceof UIDefaults.ActiveValue,
+                    snapshotValue instanceof UIDefaults.ActiveValue, key.toString());
+            Object resolved = parsed.get(key);
+            Object resolvedFromSnapshot = fromSnapshot.get(key);
+            Assertions.assertEquals(resolved != null ? resolved.getClass() : null,
+                    resolvedFromSnapshot != null ? resolvedFromSnapshot.getClass() : null, key.toString());
+            lazyCount++;
+        }
+        Assertions.assertTrue(lazyCount > 0);
+
+        // Resolving the values of one installation must not leak into the snapshot.
+        Map<Object, Object> nextValues = rawValues(new DarkLaf().getDefaults());
+        for (Map.Entry<Object, Object> entry : parsedValues.entrySet()) {
+            if (entry.getValue() instanceof UIDefaults.LazyValue) {
+                Assertions.assertTrue(nextValues.get(entry.getKey()) instanceof UIDefaults.LazyValue,
+                        entry.getKey().toString());
+            }
+        }
+    }
+
+    private static Map<Object, Object> rawValues(final UIDefaults defaults) {
+        // Don't use UIDefaults#get as it resolves lazy and active values.
+        return new HashMap<>(defaults);
+    }
+}
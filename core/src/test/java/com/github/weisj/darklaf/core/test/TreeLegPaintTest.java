@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.core.test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.JTree;
+import javax.swing.UIManager;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+class TreeLegPaintTest implements NonThreadSafeTest {
+
+    private static final String SELECTED_LINE_COLOR = "Tree.lineSelected";
+    private static final String LINE_COLOR = "Tree.lineUnselected";
+
+    @BeforeAll
+    static void setup() {
+        TestUtils.ensureLafInstalled();
+    }
+
+    @Test
+    void testClippedLegsDontChangeColors() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            // Themes may use the same color for both.
+            UIManager.put(SELECTED_LINE_COLOR, Color.RED);
+            UIManager.put(LINE_COLOR, Color.BLUE);
+            try {
+                paintClippedLegs();
+            } finally {
+                UIManager.put(SELECTED_LINE_COLOR, null);
+                UIManager.put(LINE_COLOR, null);
+            }
+        });
+    }
+
+    private static void paintClippedLegs() {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        DefaultMutableTreeNode node = root;
+        for (int i = 0; i < 4; i++) {
+            DefaultMutableTreeNode child = new DefaultMutableTreeNode("node " + i);
+            node.add(child);
+            node = child;
+        }
+        JTree tree = new JTree(root);
+        tree.putClientProperty(DarkTreeUI.KEY_LINE_STYLE, DarkTreeUI.STYLE_LINE);
+        TreePath leafPath = new TreePath(node.getPath());
+        tree.expandPath(leafPath.getParentPath());
+        // Only the legs of the parent of the selected leaf are painted as selected.
+        tree.setSelectionPath(leafPath);
+        tree.setSize(tree.getPreferredSize());
+
+        Rectangle leafBounds = tree.getPathBounds(leafPath);
+        int y = leafBounds.y + leafBounds.height / 2;
+        BufferedImage full = paint(tree, null);
+        int background = full.getRGB(0, y);
+        List<Integer> legs = new ArrayList<>();
+        for (int x = 0; x < leafBounds.x; x++) {
+            if (full.getRGB(x, y) != background) legs.add(x);
+        }
+        Assertions.assertEquals(4, legs.size());
+        int selectedLeg = legs.get(legs.size() - 1);
+        Assertions.assertEquals(Color.RED.getRGB(), full.getRGB(selectedLeg, y));
+        Assertions.assertEquals(Color.BLUE.getRGB(), full.getRGB(legs.get(0), y));
+
+        // Leave out the leg of the selection. The remaining legs keep the color of their own parent.
+        BufferedImage clipped = paint(tree, new Rectangle(0, 0, selectedLeg, tree.getHeight()));
+        for (int x = 0; x < selectedLeg; x++) {
+            Assertions.assertEquals(full.getRGB(x, y), clipped.getRGB(x, y), "Color at x = " + x);
+        }
+    }
+
+    private static BufferedImage paint(final JTree tree, final Rectangle clip) {
+        BufferedImage image = new BufferedImage(tree.getWidth(), tree.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            if (clip != null) g.setClip(clip);
+            tree.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.RotatableIconAnimator;
+import com.github.weisj.darklaf.properties.icons.EmptyIcon;
+import com.github.weisj.darklaf.properties.icons.RotatableIcon;
+
+class AnimationClockTest {
+
+    @Test
+    void testAnimationsShareFrames() throws InterruptedException, InvocationTargetException {
+        CountDownLatch finished = new CountDownLatch(2);
+        CountingAnimator first = new CountingAnimator(100, finished);
+        CountingAnimator second = new CountingAnimator(100, finished);
+        long framesBefore = AnimationClock.getFrameCount();
+
+        // Frames are dispatched on the event dispatch thread, hence both animations start in the same frame.
+        SwingUtilities.invokeAndWait(() -> {
+            first.play();
+            second.play();
+        });
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertFalse(first.isRunning());
+        Assertions.assertFalse(second.isRunning());
+        Assertions.assertTrue(first.frames > 0);
+        Assertions.assertEquals(first.frames, second.frames);
+        // Both animations are painted in the same frames rather than each requesting its own.
+        Assertions.assertTrue(AnimationClock.getFrameCount() - framesBefore <= first.frames + 2);
+    }
+
+    @Test
+    void testPausedAnimationIsUnregistered() {
+        CountingAnimator animator = new CountingAnimator(1000, new CountDownLatch(1));
+        animator.play();
+        Assertions.assertTrue(animator.isRunning());
+        Assertions.assertTrue(animator.pause());
+        Assertions.assertFalse(animator.isRunning());
+        Assertions.assertFalse(animator.pause());
+    }
+
+    @Test
+    void testTimeBasedAnimationDropsFramesUnderLoad() throws InterruptedException, InvocationTargetException {
+        CountingAnimator timeBased = new CountingAnimator(300, new CountDownLatch(1));
+        timeBased.setTimeBased(true);
+        CountingAnimator frameBased = new CountingAnimator(300, new CountDownLatch(1));
+        frameBased.setTimeBased(false);
+
+        // Frames arrive every 50ms i.e. the event dispatch thread is under load.
+        long frameTime = TimeUnit.MILLISECONDS.toNanos(50);
+        // The frames are supplied on the event dispatch thread such that the clock can't interfere.
+        SwingUtilities.invokeAndWait(() -> {
+            Assertions.assertEquals(6, runToEnd(timeBased, frameTime));
+            // Advancing a fixed amount per frame takes 18 frames of 50ms each.
+            Assertions.assertEquals(18, runToEnd(frameBased, frameTime));
+        });
+        Assertions.assertEquals(5, timeBased.frames);
+        Assertions.assertEquals(17, frameBased.frames);
+        Assertions.assertEquals(0, timeBased.finished.getCount());
+        Assertions.assertEquals(0, frameBased.finished.getCount());
+    }
+
+    @Test
+    void testFrameTimingProbe() {
+        FrameTimingProbe probe = new FrameTimingProbe();
+        long frameTime = TimeUnit.MILLISECONDS.toNanos(50);
+        for (int i = 0; i < 5; i++) {
+            probe.recordFrame(1000 + i * frameTime);
+        }
+        probe.recordDroppedFrame();
+
+        Assertions.assertEquals(50, probe.getAverageFrameTimeMillis(), 1e-6);
+        Assertions.assertEquals(50, probe.getMaxFrameTimeMillis(), 1e-6);
+        Assertions.assertEquals(20, probe.getFramesPerSecond(), 1e-6);
+        Assertions.assertEquals(1, probe.getDroppedFrameCount());
+
+        // The pause until the first frame after a restart isn't a frame interval.
+        probe.restart();
+        probe.recordFrame(TimeUnit.SECONDS.toNanos(10));
+        Assertions.assertEquals(50, probe.getMaxFrameTimeMillis(), 1e-6);
+    }
+
+    @Test
+    void testFailingAnimationIsStopped() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        CountingAnimator animator = new CountingAnimator(1000, new CountDownLatch(1)) {
+            @Override
+            protected void paintAnimationFrame(final float fraction) {
+                failed.countDown();
+                throw new IllegalStateException("Expected failure");
+            }
+        };
+        animator.play();
+        Assertions.assertTrue(failed.await(5, TimeUnit.SECONDS));
+        // The failure is handled within the same event.
+        waitForEventQueue();
+        Assertions.assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testCallbacksOfHiddenTargetsAreSuspended() {
+        AnimationClock.FrameCallback callback = frameTime -> Assertions.fail("Hidden target received a frame");
+        AnimationClock.register(callback, new JPanel());
+        try {
+            Assertions.assertTrue(AnimationClock.isRegistered(callback));
+            Assertions.assertFalse(AnimationClock.isActive(callback));
+        } finally {
+            AnimationClock.unregister(callback);
+        }
+        Assertions.assertFalse(AnimationClock.isRegistered(callback));
+    }
+
+    @Test
+    void testCallbacksOfRemovedTargetsAreUnregistered() throws InterruptedException, InvocationTargetException {
+        JPanel target = new JPanel();
+        CountDownLatch removed = new CountDownLatch(1);
+        AnimationClock.FrameCallback callback = new AnimationClock.FrameCallback() {
+            @Override
+            public void onFrame(final long frameTimeNanos) {}
+
+            @Override
+            public void onTargetRemoved() {
+                removed.countDown();
+            }
+        };
+        SwingUtilities.invokeAndWait(() -> {
+            target.addNotify();
+            AnimationClock.register(callback, target);
+            // Moving the target to another parent doesn't end the animation.
+            target.removeNotify();
+            target.addNotify();
+        });
+        waitForEventQueue();
+        Assertions.assertTrue(AnimationClock.isRegistered(callback));
+        Assertions.assertEquals(1, removed.getCount());
+
+        SwingUtilities.invokeAndWait(target::removeNotify);
+        waitForEventQueue();
+        Assertions.assertFalse(AnimationClock.isRegistered(callback));
+        Assertions.assertEquals(0, removed.getCount());
+    }
+
+    @Test
+    void testRotatingIconContinuesOnceTargetIsAddedAgain() throws InterruptedException, InvocationTargetException {
+        JPanel target = new JPanel() {
+            @Override
+            public boolean isShowing() {
+                // There are no windows in headless mode.
+                return isDisplayable();
+            }
+        };
+        RotatableIconAnimator animator = new RotatableIconAnimator(new RotatableIcon(EmptyIcon.create(16)), target);
+        animator.setInitialDelay(0);
+        animator.setDelay(10);
+        CountDownLatch[] step = {new CountDownLatch(1)};
+        animator.addActionListener(e -> step[0].countDown());
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                target.addNotify();
+                animator.start();
+            });
+            Assertions.assertTrue(step[0].await(5, TimeUnit.SECONDS));
+
+            // E.g. the dialog containing the target is disposed.
+            SwingUtilities.invokeAndWait(target::removeNotify);
+            waitForEventQueue();
+            Assertions.assertTrue(animator.isRunning());
+
+            step[0] = new CountDownLatch(1);
+            SwingUtilities.invokeAndWait(target::addNotify);
+            Assertions.assertTrue(step[0].await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(animator.isRunning());
+        } finally {
+            SwingUtilities.invokeAndWait(animator::stop);
+        }
+        Assertions.assertFalse(animator.isRunning());
+    }
+
+    @Test
+    void testPowerSaverReducesFrameRate() {
+        int frameRate = AnimationClock.getFrameRate();
+        AnimationClock.setPowerSaverEnabled(true);
+        try {
+            Assertions.assertTrue(AnimationClock.getFrameRate() < frameRate);
+        } finally {
+            AnimationClock.setPowerSaverEnabled(false);
+        }
+        Assertions.assertEquals(frameRate, AnimationClock.getFrameRate());
+    }
+
+    @Test
+    void testRepaintsArePaintedAtEndOfFrame() throws InterruptedException, InvocationTargetException {
+        JPanel panel = new JPanel() {
+            @Override
+            public boolean isShowing() {
+                // There are no windows in headless mode.
+                return true;
+            }
+        };
+        panel.setSize(100, 100);
+        CountDownLatch painted = new CountDownLatch(1);
+        AWTEvent[] frameEvent = new AWTEvent[1];
+        Rectangle[] dirty = new Rectangle[1];
+        RecordingRepaintManager repaintManager = new RecordingRepaintManager(painted);
+        AnimationClock.FrameCallback callback = new AnimationClock.FrameCallback() {
+            @Override
+            public void onFrame(final long frameTimeNanos) {
+                AnimationClock.unregister(this);
+                frameEvent[0] = EventQueue.getCurrentEvent();
+                FrameRepaintScheduler.repaint(panel, 0, 0, 10, 10);
+                FrameRepaintScheduler.repaint(panel, new Rectangle(20, 30, 10, 10));
+                dirty[0] = new Rectangle(FrameRepaintScheduler.getDirtyRegion(panel));
+            }
+        };
+        RepaintManager repaintManagerBefore = RepaintManager.currentManager(panel);
+        SwingUtilities.invokeAndWait(() -> RepaintManager.setCurrentManager(repaintManager));
+        try {
+            AnimationClock.register(callback);
+            Assertions.assertTrue(painted.await(5, TimeUnit.SECONDS));
+        } finally {
+            SwingUtilities.invokeAndWait(() -> RepaintManager.setCurrentManager(repaintManagerBefore));
+        }
+        Assertions.assertEquals(new Rectangle(0, 0, 30, 40), dirty[0]);
+        Assertions.assertNull(FrameRepaintScheduler.getDirtyRegion(panel));
+        // The merged region is painted in the event of the frame.
+        Assertions.assertEquals(Collections.singletonList(new Rectangle(0, 0, 30, 40)), repaintManager.regions);
+        Assertions.assertSame(frameEvent[0], repaintManager.paintEvent);
+    }
+
+    /*
+     * Plays the animation and supplies frames in the given interval until it has finished.
+     */
+    private static int runToEnd(final CountingAnimator animator, final long frameInterval) {
+        animator.play();
+        // Offset the frames such that no frame ends exactly at the end of the animation.
+        long frameTime = System.nanoTime() + frameInterval / 2;
+        int frames = 0;
+        while (animator.isRunning() && frames < 100) {
+            frameTime += frameInterval;
+            animator.onFrame(frameTime);
+            frames++;
+        }
+        return frames;
+    }
+
+    private static void waitForEventQueue() {
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+            });
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class RecordingRepaintManager extends RepaintManager {
+
+        private final CountDownLatch painted;
+        private final List<Rectangle> regions = new ArrayList<>();
+        private AWTEvent paintEvent;
+
+        private RecordingRepaintManager(final CountDownLatch painted) {
+            this.painted = painted;
+        }
+
+        @Override
+        public void addDirtyRegion(final JComponent c, final int x, final int y, final int w, final int h) {
+            regions.add(new Rectangle(x, y, w, h));
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            paintEvent = EventQueue.getCurrentEvent();
+            painted.countDown();
+        }
+    }
+
+    private static class CountingAnimator extends Animator {
+
+        private final CountDownLatch finished;
+        private volatile int frames;
+
+        private CountingAnimator(final long duration, final CountDownLatch finished) {
+            super(duration);
+            this.finished = finished;
+        }
+
+        @Override
+        protected void paintAnimationFrame(final float fraction) {
+            frames++;
+        }
+
+        @Override
+        protected void onAnimationFinished() {
+            finished.countDown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NineSliceTest {
+
+    private static final Color COLOR = new Color(40, 120, 200, 180);
+
+    @AfterEach
+    void cleanup() {
+        PaintUtil.setNineSliceCacheEnabled(false);
+    }
+
+    @Test
+    void testSlicesMatchDirectPainting() {
+        for (double scale : new double[] {1, 2}) {
+            for (int arc : new int[] {0, 4, 10}) {
+                assertSamePixels(scale, g -> PaintUtil.paintLineBorder(g, 3, 2, 60, 30, arc));
+                assertSamePixels(scale, g -> PaintUtil.paintOutlineBorder(g, 60, 30, arc, 3, true, Outline.focus));
+                assertSamePixels(scale, g -> PaintUtil.fillRoundRect(g, 3, 2, 60, 30, arc));
+            }
+        }
+        Assertions.assertTrue(NineSlice.size() > 0);
+    }
+
+    @Test
+    void testFractionalPositionsArePaintedDirectly() {
+        PaintUtil.setNineSliceCacheEnabled(true);
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(1.5, 1.5);
+        g.translate(1, 1);
+        g.setColor(COLOR);
+        PaintUtil.paintLineBorder(g, 0, 0, 31, 21, 8);
+        g.dispose();
+        Assertions.assertEquals(0, NineSlice.size());
+    }
+
+    private static void assertSamePixels(final double scale, final Consumer<Graphics2D> painter) {
+        PaintUtil.setNineSliceCacheEnabled(false);
+        BufferedImage expected = paint(scale, painter);
+        PaintUtil.setNineSliceCacheEnabled(true);
+        BufferedImage actual = paint(scale, painter);
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int diff = Math.abs(((e >>> shift) & 0xFF) - ((a >>> shift) & 0xFF));
+                    Assertions.assertTrue(diff <= 1, "Pixel (" + x + "," + y + ") differs at scale " + scale
+                            + ": expected " + Integer.toHexString(e) + " but was " + Integer.toHexString(a));
+                }
+            }
+        }
+    }
+
+    private static BufferedImage paint(final double scale, final Consumer<Graphics2D> painter) {
+        BufferedImage image = new BufferedImage((int) (80 * scale), (int) (50 * scale), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.scale(scale, scale);
+        g.translate(5, 4);
+        g.setColor(COLOR);
+        PaintUtil.setFocusGlow(COLOR);
+        painter.accept(g);
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
+class ScratchImagesTest {
+
+    @Test
+    void testImagesAreReusedWithinBucket() {
+        BufferedImage image = ScratchImages.acquire(50, 20, false);
+        Assertions.assertTrue(image.getWidth() >= 50 && image.getHeight() >= 20);
+        ScratchImages.release(image);
+
+        CacheStatistics before = ScratchImages.getStatistics();
+        BufferedImage reused = ScratchImages.acquire(60, 30, false);
+        Assertions.assertSame(image, reused);
+        Assertions.assertEquals(before.getHitCount() + 1, ScratchImages.getStatistics().getHitCount());
+
+        // Acquired images are exclusive until released.
+        BufferedImage other = ScratchImages.acquire(60, 30, false);
+        Assertions.assertNotSame(reused, other);
+        Assertions.assertNotSame(reused, ScratchImages.acquire(60, 30, true));
+        ScratchImages.release(reused);
+        ScratchImages.release(other);
+    }
+
+    @Test
+    void testLargeImagesAreNotPooled() {
+        BufferedImage image = ScratchImages.acquire(2000, 1000, false);
+        Assertions.assertEquals(2000, image.getWidth());
+        Assertions.assertEquals(1000, image.getHeight());
+        ScratchImages.release(image);
+        Assertions.assertNotSame(image, ScratchImages.acquire(2000, 1000, false));
+    }
+}
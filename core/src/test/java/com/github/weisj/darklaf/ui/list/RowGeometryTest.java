@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RowGeometryTest {
+
+    @Test
+    void testLocationsMatchHeights() {
+        RowGeometry geometry = new RowGeometry(4);
+        int[] heights = {10, 0, 5, 20};
+        for (int i = 0; i < heights.length; i++) {
+            geometry.setSize(i, i, heights[i]);
+        }
+        Assertions.assertFalse(geometry.hasUnmeasuredRows());
+        Assertions.assertEquals(35, geometry.getTotalHeight());
+        Assertions.assertEquals(15, geometry.getY(3));
+        Assertions.assertEquals(-1, geometry.rowAtY(-1));
+        Assertions.assertEquals(0, geometry.rowAtY(9));
+        // Rows without height are never hit.
+        Assertions.assertEquals(2, geometry.rowAtY(10));
+        Assertions.assertEquals(3, geometry.rowAtY(34));
+        Assertions.assertEquals(4, geometry.rowAtY(35));
+        Assertions.assertEquals(3, geometry.getMaxWidth());
+        Assertions.assertEquals(20, geometry.getMaxHeight());
+    }
+
+    @Test
+    void testEstimatedHeights() {
+        RowGeometry geometry = new RowGeometry(1000);
+        geometry.setSize(0, 10, 30);
+        geometry.setEstimatedHeight(20);
+        Assertions.assertEquals(30 + 999 * 20, geometry.getTotalHeight());
+        Assertions.assertEquals(1 + (500 - 30) / 20, geometry.rowAtY(500));
+
+        geometry.insert(1000, 10);
+        geometry.insert(0, 10);
+        Assertions.assertEquals(30 + 1019 * 20, geometry.getTotalHeight());
+
+        geometry.setSize(15, 10, 40);
+        Assertions.assertEquals(30 + 40 + 1018 * 20, geometry.getTotalHeight());
+        Assertions.assertEquals(10 * 20 + 30 + 4 * 20, geometry.getY(15));
+        Assertions.assertTrue(geometry.hasUnmeasuredRows());
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchModel() {
+        Random random = new Random(42);
+        List<Integer> model = new ArrayList<>();
+        RowGeometry geometry = new RowGeometry(0);
+        for (int step = 0; step < 500; step++) {
+            int op = random.nextInt(3);
+            if (op == 0 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                int count = 1 + random.nextInt(40);
+                for (int i = 0; i < count; i++) {
+                    model.add(index, 0);
+                }
+                geometry.insert(index, count);
+            } else if (op == 1) {
+                int index0 = random.nextInt(model.size());
+                int index1 = Math.min(model.size() - 1, index0 + random.nextInt(5));
+                model.subList(index0, index1 + 1).clear();
+                geometry.remove(index0, index1);
+            } else {
+                int index0 = random.nextInt(model.size());
+                int index1 = Math.min(model.size() - 1, index0 + random.nextInt(5));
+                geometry.invalidate(index0, index1);
+            }
+            if (geometry.hasUnmeasuredRows()) {
+                for (int i = geometry.getFirstUnmeasuredRow(); i <= geometry.getLastUnmeasuredRow(); i++) {
+                    if (geometry.isMeasured(i)) continue;
+                    int height = random.nextInt(30);
+                    model.set(i, height);
+                    geometry.setSize(i, height, height);
+                }
+            }
+            Assertions.assertFalse(geometry.hasUnmeasuredRows());
+            Assertions.assertEquals(model.size(), geometry.size());
+            int y = 0;
+            for (int i = 0; i < model.size(); i++) {
+                Assertions.assertTrue(geometry.isMeasured(i));
+                Assertions.assertEquals(model.get(i).intValue(), geometry.getHeight(i));
+                Assertions.assertEquals(y, geometry.getY(i));
+                if (model.get(i) > 0) {
+                    Assertions.assertEquals(i, geometry.rowAtY(y));
+                    Assertions.assertEquals(i, geometry.rowAtY(y + model.get(i) - 1));
+                }
+                y += model.get(i);
+            }
+            Assertions.assertEquals(y, geometry.getTotalHeight());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import java.awt.BasicStroke;
+
+import javax.swing.JTree;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TreeLegPaintCacheTest {
+
+    private final DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+    private final DefaultMutableTreeNode a = new DefaultMutableTreeNode("a");
+    private final DefaultMutableTreeNode leaf = new DefaultMutableTreeNode("leaf");
+    private final DefaultMutableTreeNode b = new DefaultMutableTreeNode("b");
+
+    private final TreePath rootPath = new TreePath(root);
+    private final TreePath aPath = rootPath.pathByAddingChild(a);
+    private final TreePath leafPath = aPath.pathByAddingChild(leaf);
+    private final TreePath bPath = rootPath.pathByAddingChild(b);
+
+    private JTree createTree() {
+        a.add(leaf);
+        root.add(a);
+        root.add(b);
+        JTree tree = new JTree(root);
+        tree.expandPath(aPath);
+        return tree;
+    }
+
+    @Test
+    void testSelectionOfPass() {
+        JTree tree = createTree();
+        TreeLegPaintCache cache = new TreeLegPaintCache();
+
+        tree.setSelectionPath(leafPath);
+        cache.begin(tree, DarkTreeUI.STYLE_LINE);
+        Assertions.assertTrue(cache.isActive());
+        Assertions.assertEquals(DarkTreeUI.STYLE_LINE, cache.getLineStyle());
+        // The selection is a leaf, hence the legs of its parent are highlighted.
+        Assertions.assertTrue(cache.isChildOfSelectionPath(leafPath));
+        Assertions.assertTrue(cache.isChildOfSelectionPath(aPath));
+        Assertions.assertFalse(cache.isChildOfSelectionPath(rootPath));
+        Assertions.assertFalse(cache.isChildOfSelectionPath(bPath));
+
+        // Changes during the pass aren't picked up.
+        tree.setSelectionPath(bPath);
+        Assertions.assertTrue(cache.isChildOfSelectionPath(aPath));
+        cache.end();
+        Assertions.assertFalse(cache.isActive());
+        Assertions.assertNull(cache.getLineStyle());
+
+        tree.setSelectionPath(aPath);
+        cache.begin(tree, DarkTreeUI.STYLE_DASHED);
+        // An expanded selection only highlights itself.
+        Assertions.assertTrue(cache.isChildOfSelectionPath(aPath));
+        Assertions.assertFalse(cache.isChildOfSelectionPath(rootPath));
+        cache.end();
+
+        tree.collapsePath(aPath);
+        cache.begin(tree, DarkTreeUI.STYLE_DASHED);
+        Assertions.assertTrue(cache.isChildOfSelectionPath(rootPath));
+        cache.end();
+
+        tree.clearSelection();
+        cache.begin(tree, DarkTreeUI.STYLE_DASHED);
+        Assertions.assertFalse(cache.isChildOfSelectionPath(aPath));
+        Assertions.assertFalse(cache.isChildOfSelectionPath(rootPath));
+        cache.end();
+    }
+
+    @Test
+    void testDashedStrokesAreReused() {
+        TreeLegPaintCache cache = new TreeLegPaintCache();
+        BasicStroke stroke = cache.getDashedStroke(2, 2, 1);
+        Assertions.assertSame(stroke, cache.getDashedStroke(2, 2, 1));
+        Assertions.assertEquals(1, stroke.getDashPhase());
+        Assertions.assertArrayEquals(new float[] {2, 2}, stroke.getDashArray());
+        Assertions.assertNotSame(stroke, cache.getDashedStroke(2, 2, 0));
+
+        BasicStroke longer = cache.getDashedStroke(3, 2, 1);
+        Assertions.assertNotSame(stroke, longer);
+        Assertions.assertArrayEquals(new float[] {3, 2}, longer.getDashArray());
+
+        // Phases outside of the period aren't cached but still honoured.
+        Assertions.assertEquals(7, cache.getDashedStroke(3, 2, 7).getDashPhase());
+    }
+}
@@ -50,3 +50,22 @@ val generateIconAccessor by tasks.registering {
 tasks.compileJava.configure {
     dependsOn(generateIconAccessor)
 }
+
+val generateSvgSizeIndex by tasks.registering {
+    val packagePath = "com/github/weisj/darklaf/iconset"
+    val iconDir = project.file("src/main/resources/$packagePath")
+    val generatedDir = project.buildDir.resolve("generated/svgSizeIndex")
+    inputs.dir(iconDir)
+    outputs.dir(generatedDir)
+    doLast {
+        // Allows IconLoader to know the size of an icon without parsing it.
+        generatedDir.resolve("$packagePath/svgIconSizes.properties").apply {
+            parentFile.mkdirs()
+            writeText(createSvgSizeIndex(iconDir))
+        }
+    }
+}
+
+sourceSets.main.configure {
+    resources.srcDir(generateSvgSizeIndex)
+}
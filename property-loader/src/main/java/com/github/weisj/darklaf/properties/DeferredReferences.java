@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.util.*;
+
+import com.github.weisj.darklaf.properties.parser.ParserContext;
+
+/**
+ * The properties of a loading session whose values reference keys which weren't loaded yet. Once all
+ * properties of the session are loaded they are parsed again in the order of their references. This
+ * way references between property files resolve independent of the order the files are loaded in.
+ *
+ * @author Jannis Weis
+ */
+final class DeferredReferences {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Set<Object> pendingValues = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int depth;
+
+    void enter() {
+        depth++;
+    }
+
+    boolean exit() {
+        return --depth == 0;
+    }
+
+    /**
+     * Returns whether the value references a key which either isn't loaded yet or whose value itself is
+     * still waiting for a reference to be resolved.
+     *
+     * @param name the name of the property the value belongs to.
+     * @param value the value.
+     * @param context the parser context.
+     * @return true if the value has to be parsed again later on.
+     */
+    boolean hasMissingReference(final String name, final String value, final ParserContext context) {
+        for (String reference : ReferenceGraph.findReferences(value)) {
+            // A key referencing itself refers to the value of a previously loaded property.
+            if (reference.equals(name)) continue;
+            if (!context.accumulator.containsKey(reference) && !context.defaults.containsKey(reference)) {
+                return true;
+            }
+            if (!pendingValues.isEmpty() && pendingValues.contains(context.accumulator.get(reference))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void defer(final ParserContext context, final String key, final String value, final Object parsedKey,
+            final Object storedValue) {
+        entries.add(new Entry(context, key, value, parsedKey, storedValue));
+        pendingValues.add(storedValue);
+    }
+
+    /**
+     * Parses the deferred properties again. Properties which have been replaced since they were loaded
+     * are kept as they are.
+     */
+    void resolve() {
+        if (entries.isEmpty()) return;
+        Map<Map<Object, Object>, List<Entry>> entriesByAccumulator = new IdentityHashMap<>();
+        List<List<Entry>> groups = new ArrayList<>();
+        for (Entry entry : entries) {
+            entriesByAccumulator.computeIfAbsent(entry.context.accumulator, a -> {
+                List<Entry> group = new ArrayList<>();
+                groups.add(group);
+                return group;
+            }).add(entry);
+        }
+        for (List<Entry> group : groups) {
+            resolve(group);
+        }
+        entries.clear();
+        pendingValues.clear();
+    }
+
+    private void resolve(final List<Entry> group) {
+        Map<Object, Object> properties = new HashMap<>(group.size() * 2);
+        Map<String, Entry> entriesByKey = new HashMap<>(group.size() * 2);
+        Set<String> keys = new LinkedHashSet<>(group.size() * 2);
+        for (Entry entry : group) {
+            // Later entries of the same key override earlier ones.
+            properties.put(entry.key, entry.value);
+            entriesByKey.put(entry.key, entry);
+            keys.remove(entry.key);
+            keys.add(entry.key);
+        }
+        for (String key : ReferenceGraph.create(properties, keys).sort(keys)) {
+            Entry entry = entriesByKey.get(key);
+            if (entry.context.accumulator.get(entry.parsedKey) != entry.storedValue) continue;
+            pendingValues.remove(entry.storedValue);
+            PropertyLoader.putProperty(entry.context, entry.key, entry.value);
+        }
+    }
+
+    private static final class Entry {
+        private final ParserContext context;
+        private final String key;
+        private final String value;
+        private final Object parsedKey;
+        private final Object storedValue;
+
+        private Entry(final ParserContext context, final String key, final String value, final Object parsedKey,
+                final Object storedValue) {
+            this.context = context;
+            this.key = key;
+            this.value = value;
+            this.parsedKey = parsedKey;
+            this.storedValue = storedValue;
+        }
+    }
+}
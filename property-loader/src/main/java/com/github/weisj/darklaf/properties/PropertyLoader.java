@@ -46,6 +46,19 @@ public final class PropertyLoader {
 
     private static final char REFERENCE_PREFIX = '%';
 
+    /**
+     * If enabled the properties of a single loading operation are parsed in the order of their
+     * references i.e. a referenced property is always parsed before the properties referencing it.
+     * Reference cycles are reported before any property is parsed. References to properties which
+     * aren't loaded yet are resolved at the end of the loading session (see {@link #beginLoading()}).
+     * Otherwise properties are parsed in the order they are given and references to properties which
+     * aren't loaded yet are left unresolved.
+     */
+    public static final String DEPENDENCY_ORDER_FLAG = "darklaf.dependencyOrderedProperties";
+
+    private static boolean dependencyOrdered = PropertyUtil.getSystemFlag(DEPENDENCY_ORDER_FLAG, false);
+    private static final ThreadLocal<DeferredReferences> deferredReferences = new ThreadLocal<>();
+
     public static Properties loadProperties(final Class<?> clazz, final String name, final String path) {
         final Properties properties = new Properties();
         String p = path + name + ".properties";
@@ -70,22 +83,76 @@ public final class PropertyLoader {
     public static void putProperties(final Map<Object, Object> properties, final Set<String> keys,
             final Map<Object, Object> accumulator, final UIDefaults currentDefaults, final IconResolver iconResolver) {
         ParserContext context = new ParserContext(accumulator, currentDefaults, iconResolver);
-        for (final String key : keys) {
-            final String value = properties.get(key).toString();
-            ParseResult parseResult = Parser.parse(Parser.createParseResult(key, value), context);
-            if (parseResult.finished) {
-                Object result = parseResult.result;
-                if (result != null) {
-                    if (Parser.isDebugMode()) {
-                        accumulator.put(parseResult.key, parseResult);
-                    } else {
-                        accumulator.put(parseResult.key, result);
-                    }
+        if (!dependencyOrdered) {
+            for (final String key : keys) {
+                putProperty(context, key, properties.get(key).toString());
+            }
+            return;
+        }
+        beginLoading();
+        try {
+            DeferredReferences deferred = deferredReferences.get();
+            for (final String key : ReferenceGraph.create(properties, keys).sort(keys)) {
+                final String value = properties.get(key).toString();
+                String name = ReferenceGraph.stripReferencePrefix(key);
+                boolean missingReference = deferred.hasMissingReference(name, value, context);
+                context.setReportWarnings(!missingReference);
+                ParseResult parseResult = putProperty(context, key, value);
+                if (missingReference && parseResult.finished && parseResult.result != null) {
+                    Object stored = Parser.isDebugMode() ? parseResult : parseResult.result;
+                    deferred.defer(context, key, value, parseResult.key, stored);
+                }
+            }
+            context.setReportWarnings(true);
+        } finally {
+            finishLoading();
+        }
+    }
+
+    static ParseResult putProperty(final ParserContext context, final String key, final String value) {
+        ParseResult parseResult = Parser.parse(Parser.createParseResult(key, value, context), context);
+        if (parseResult.finished) {
+            Object result = parseResult.result;
+            if (result != null) {
+                if (Parser.isDebugMode()) {
+                    context.accumulator.put(parseResult.key, parseResult);
                 } else {
-                    currentDefaults.remove(parseResult.key);
+                    context.accumulator.put(parseResult.key, result);
                 }
+            } else {
+                context.defaults.remove(parseResult.key);
             }
         }
+        return parseResult;
+    }
+
+    /**
+     * Starts a loading session. If properties are loaded in dependency order (see
+     * {@link #DEPENDENCY_ORDER_FLAG}) properties loaded during the session may reference properties which
+     * are only loaded later on in the session. These references are resolved by {@link #finishLoading()}.
+     * Sessions may be nested, in which case references are resolved once the outermost session
+     * finishes. Every call has to be matched by a call to {@link #finishLoading()} on the same thread.
+     */
+    public static void beginLoading() {
+        DeferredReferences deferred = deferredReferences.get();
+        if (deferred == null) {
+            deferred = new DeferredReferences();
+            deferredReferences.set(deferred);
+        }
+        deferred.enter();
+    }
+
+    /**
+     * Finishes a loading session started by {@link #beginLoading()}. If this is the outermost session
+     * all properties referencing properties which weren't loaded at the time are parsed again.
+     */
+    public static void finishLoading() {
+        DeferredReferences deferred = deferredReferences.get();
+        if (deferred == null) throw new IllegalStateException("No loading session in progress");
+        if (deferred.exit()) {
+            deferredReferences.remove();
+            deferred.resolve();
+        }
     }
 
     public static void replaceProperties(final Map<Object, Object> properties,
@@ -112,6 +179,14 @@ public final class PropertyLoader {
                 .forEach(e -> Optional.ofNullable(mapper.apply((Map.Entry<Object, T>) e)).ifPresent(e::setValue));
     }
 
+    public static void setDependencyOrdered(final boolean dependencyOrdered) {
+        PropertyLoader.dependencyOrdered = dependencyOrdered;
+    }
+
+    public static boolean isDependencyOrdered() {
+        return dependencyOrdered;
+    }
+
     public static String getReferencePrefix() {
         return String.valueOf(REFERENCE_PREFIX);
     }
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * The graph of references between the properties of a single loading operation. It is used to order
+ * the keys such that every referenced key is parsed before the keys referencing it.
+ *
+ * @author Jannis Weis
+ */
+final class ReferenceGraph {
+
+    private static final Logger LOGGER = LogUtil.getLogger(ReferenceGraph.class);
+    private static final String DELIMITERS = ",()[]{}:";
+
+    private enum State {
+        VISITING,
+        DONE
+    }
+
+    /*
+     * A name may be defined by multiple keys e.g. both 'a' and '%a'. Each key is a separate node of the
+     * graph and a reference to the name depends on all of them.
+     */
+    private final Map<String, List<String>> keysByName;
+    private final Map<String, List<String>> dependencies;
+
+    private ReferenceGraph(final Map<String, List<String>> keysByName,
+            final Map<String, List<String>> dependencies) {
+        this.keysByName = keysByName;
+        this.dependencies = dependencies;
+    }
+
+    static ReferenceGraph create(final Map<Object, Object> properties, final Set<String> keys) {
+        Map<String, List<String>> keysByName = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            keysByName.computeIfAbsent(stripReferencePrefix(key), n -> new ArrayList<>(1)).add(key);
+        }
+        Map<String, List<String>> dependencies = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            String name = stripReferencePrefix(key);
+            List<String> references = Collections.emptyList();
+            for (String reference : findReferences(properties.get(key).toString())) {
+                // A key referencing itself refers to the value of a previously loaded property.
+                if (reference.equals(name) || !keysByName.containsKey(reference)) continue;
+                if (references.isEmpty()) references = new ArrayList<>();
+                references.add(reference);
+            }
+            dependencies.put(key, references);
+        }
+        return new ReferenceGraph(keysByName, dependencies);
+    }
+
+    /**
+     * Orders the keys such that referenced keys come first. Keys which are part of a reference cycle
+     * are reported and kept in their original relative order.
+     *
+     * @param keys the keys in their original order.
+     * @return the ordered keys.
+     */
+    List<String> sort(final Collection<String> keys) {
+        List<String> ordered = new ArrayList<>(keys.size());
+        Map<String, State> states = new HashMap<>(keys.size() * 2);
+        Deque<String> path = new ArrayDeque<>();
+        for (String key : keys) {
+            visit(key, states, path, ordered);
+        }
+        return ordered;
+    }
+
+    private void visit(final String key, final Map<String, State> states, final Deque<String> path,
+            final List<String> ordered) {
+        State state = states.get(key);
+        if (state == State.DONE) return;
+        if (state == State.VISITING) {
+            reportCycle(key, path);
+            return;
+        }
+        states.put(key, State.VISITING);
+        path.addLast(key);
+        for (String reference : dependencies.get(key)) {
+            for (String referencedKey : keysByName.get(reference)) {
+                visit(referencedKey, states, path, ordered);
+            }
+        }
+        path.removeLast();
+        states.put(key, State.DONE);
+        ordered.add(key);
+    }
+
+    private static void reportCycle(final String key, final Deque<String> path) {
+        StringBuilder cycle = new StringBuilder();
+        boolean inCycle = false;
+        for (String k : path) {
+            if (k.equals(key)) inCycle = true;
+            if (inCycle) cycle.append(k).append(" -> ");
+        }
+        cycle.append(key);
+        LOGGER.warning("Cyclic reference between properties: " + cycle);
+    }
+
+    static List<String> findReferences(final String value) {
+        List<String> references = Collections.emptyList();
+        String prefix = PropertyLoader.getReferencePrefix();
+        int index = value.indexOf(prefix);
+        while (index >= 0) {
+            if (index == 0 || isDelimiter(value.charAt(index - 1))) {
+                int start = index + prefix.length();
+                int end = start;
+                while (end < value.length() && !isDelimiter(value.charAt(end))) {
+                    end++;
+                }
+                if (end > start) {
+                    if (references.isEmpty()) references = new ArrayList<>();
+                    references.add(value.substring(start, end));
+                }
+                index = end;
+            } else {
+                index += prefix.length();
+            }
+            index = value.indexOf(prefix, index);
+        }
+        return references;
+    }
+
+    private static boolean isDelimiter(final char c) {
+        return DELIMITERS.indexOf(c) >= 0 || Character.isWhitespace(c);
+    }
+
+    static String stripReferencePrefix(final String key) {
+        String prefix = PropertyLoader.getReferencePrefix();
+        return key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+    }
+}
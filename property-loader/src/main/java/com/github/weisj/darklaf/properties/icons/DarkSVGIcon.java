@@ -22,11 +22,16 @@ package com.github.weisj.darklaf.properties.icons;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,6 +40,7 @@ import javax.swing.*;
 
 import org.jetbrains.annotations.NotNull;
 
+import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Scale;
 import com.github.weisj.jsvg.SVGDocument;
@@ -64,6 +70,8 @@ public class DarkSVGIcon
      * The scale factor is only used if the icon is painted with a non-trivial rotation.
      */
     private static final double extraScale = 2.0;
+    private static final int MAX_SCALED_IMAGE_COUNT = 4;
+    private static final double PLACEHOLDER_ALPHA = 0.1;
 
     private final @NotNull Dimension iconSize;
 
@@ -76,6 +84,18 @@ public class DarkSVGIcon
     private double scaleX;
     private double scaleY;
     private Image image;
+    private IconAtlas.Region atlasRegion;
+    /*
+     * Images for the screen scales the icon has been painted on or was prepared for. Switching between
+     * screens with different scales doesn't need to rasterize the icon again.
+     */
+    private final Map<Point2D, Image> scaledImages =
+            new LinkedHashMap<Point2D, Image>(MAX_SCALED_IMAGE_COUNT, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Point2D, Image> eldest) {
+                    return size() > MAX_SCALED_IMAGE_COUNT;
+                }
+            };
 
     /**
      * Method to fetch the SVG icon from an url.
@@ -139,14 +159,87 @@ public class DarkSVGIcon
         GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
         double sx = Scale.getScaleX(gc);
         double sy = Scale.getScaleY(gc);
-        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null) return;
+        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && hasImage()) return;
+        if (update) {
+            scaledImages.clear();
+        } else if (!loadedWithExtraScale) {
+            Image scaledImage = scaledImages.get(new Point2D.Double(sx, sy));
+            if (scaledImage != null) {
+                scaleX = sx;
+                scaleY = sy;
+                image = scaledImage;
+                releaseAtlasRegion();
+                return;
+            }
+        }
         scaleX = sx;
         scaleY = sy;
         double effectiveScaleX = loadedWithExtraScale ? scaleX * extraScale : scaleX;
         double effectiveScaleY = loadedWithExtraScale ? scaleY * extraScale : scaleY;
         LOGGER.finer(() -> String.format("Creating Image with size (w=%s, h=%s, scaleW=%s, scaleH=%s) for icon '%s'",
                 getSize().width, getSize().height, effectiveScaleX, effectiveScaleX, getName(getURI())));
-        image = createImage(Scale.scale(effectiveScaleX, effectiveScaleY, getSize()));
+        Dimension imageSize = Scale.scale(effectiveScaleX, effectiveScaleY, getSize());
+        if (IconLoader.isIconAtlasEnabled() && !loadedWithExtraScale) {
+            IconAtlas.Region region = IconAtlas.get(scaleX, scaleY).render(this, atlasRegion, imageSize);
+            if (region != atlasRegion) releaseAtlasRegion();
+            if (region != null) {
+                atlasRegion = region;
+                image = null;
+                return;
+            }
+        }
+        releaseAtlasRegion();
+        image = createImage(imageSize);
+        if (!loadedWithExtraScale) scaledImages.put(new Point2D.Double(scaleX, scaleY), image);
+    }
+
+    /*
+     * Loads the document and applies pending changes e.g. of the theme, so the icon can be rasterized for
+     * other scales. If this changes the icon, all of its images are discarded.
+     */
+    void prepareRasterization() {
+        if (ensureLoaded(true)) {
+            image = null;
+            releaseAtlasRegion();
+            scaledImages.clear();
+        }
+    }
+
+    void loadDocument() {
+        svgDocumentHolder.ensureLoaded(this);
+    }
+
+    boolean hasScaledImage(final double sx, final double sy) {
+        return scaledImages.containsKey(new Point2D.Double(sx, sy));
+    }
+
+    void addScaledImage(final double sx, final double sy, final Image scaledImage) {
+        scaledImages.put(new Point2D.Double(sx, sy), scaledImage);
+    }
+
+    /*
+     * Rasterizes the icon without loading the document or applying any pending changes. Hence this may be
+     * called outside the event dispatch thread after the icon has been prepared.
+     */
+    Image rasterize(final double sx, final double sy) {
+        Dimension size = Scale.scale(sx, sy, getSize());
+        BufferedImage bi = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = bi.createGraphics();
+        try {
+            renderDocument(g, size);
+        } finally {
+            g.dispose();
+        }
+        return bi;
+    }
+
+    private void releaseAtlasRegion() {
+        if (atlasRegion != null) atlasRegion.release();
+        atlasRegion = null;
+    }
+
+    private boolean hasImage() {
+        return atlasRegion != null ? atlasRegion.isValid() : image != null;
     }
 
     @Override
@@ -155,13 +248,7 @@ public class DarkSVGIcon
         try {
             BufferedImage bi = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
             Graphics2D g = (Graphics2D) bi.getGraphics();
-            g.setRenderingHint(
-                    RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setRenderingHint(
-                    RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
-            Object aaHint = UIManager.get(RenderingHints.KEY_TEXT_ANTIALIASING);
-            if (aaHint != null) g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, aaHint);
-            svgDocumentHolder.svgDocument.render(null, g, new ViewBox(0, 0, size.width, size.height));
+            renderDocument(g, size);
             g.dispose();
             return bi;
         } catch (final RuntimeException e) {
@@ -169,6 +256,25 @@ public class DarkSVGIcon
         }
     }
 
+    void renderImage(final Graphics2D g, final Dimension size) {
+        ensureLoaded(false);
+        try {
+            renderDocument(g, size);
+        } catch (final RuntimeException e) {
+            throw new RuntimeException("Exception while painting '" + getURI().toASCIIString() + "'.", e);
+        }
+    }
+
+    private void renderDocument(final Graphics2D g, final Dimension size) {
+        g.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(
+                RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+        Object aaHint = UIManager.get(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (aaHint != null) g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, aaHint);
+        svgDocumentHolder.svgDocument.render(null, g, new ViewBox(0, 0, size.width, size.height));
+    }
+
     protected String getName(final URI uri) {
         String name = uri.toASCIIString();
         name = name.substring(Math.min(name.length() - 1, name.lastIndexOf('/') + 1));
@@ -192,6 +298,12 @@ public class DarkSVGIcon
 
     @Override
     public void paintIcon(final Component c, final Graphics g, final int x, final int y, final double rotation) {
+        if (canLoadAsync()) {
+            // Paint a placeholder until the document has been loaded. The component is repainted afterwards.
+            svgDocumentHolder.loadAsync(this, c, x, y);
+            paintLoadingPlaceholder(c, g, x, y);
+            return;
+        }
         boolean dr = isDirectRenderingMode();
         if (dr) {
             ensureLoaded(true);
@@ -204,8 +316,8 @@ public class DarkSVGIcon
         g2.translate(x, y);
 
         Dimension size = getSize();
-        double imageWidth = dr ? size.width : image.getWidth(null);
-        double imageHeight = dr ? size.height : image.getHeight(null);
+        double imageWidth = dr ? size.width : atlasRegion != null ? atlasRegion.getWidth() : image.getWidth(null);
+        double imageHeight = dr ? size.height : atlasRegion != null ? atlasRegion.getHeight() : image.getHeight(null);
         double sx = size.width / imageWidth;
         double sy = size.height / imageHeight;
         if (!dr) g2.scale(sx, sy);
@@ -217,7 +329,11 @@ public class DarkSVGIcon
             SVGDocument svg = getSVGDocument();
             svg.render((JComponent) c, (Graphics2D) g, new ViewBox(0, 0, size.width, size.height));
         } else {
-            g2.drawImage(image, 0, 0, c);
+            if (atlasRegion != null) {
+                atlasRegion.paint(g2, c);
+            } else {
+                g2.drawImage(image, 0, 0, c);
+            }
             g2.scale(1 / sx, 1 / sy);
         }
 
@@ -225,6 +341,37 @@ public class DarkSVGIcon
         g2.setTransform(transform);
     }
 
+    /**
+     * Paints the placeholder shown while the document is loaded in the background. It occupies the same
+     * area as the icon itself.
+     *
+     * @param c the component the icon is painted on.
+     * @param g the graphics object.
+     * @param x the x coordinate of the icon.
+     * @param y the y coordinate of the icon.
+     */
+    protected void paintLoadingPlaceholder(final Component c, final Graphics g, final int x, final int y) {
+        Color color = c != null ? c.getForeground() : null;
+        if (color == null) return;
+        Color oldColor = g.getColor();
+        g.setColor(ColorUtil.toAlpha(color, PLACEHOLDER_ALPHA));
+        g.fillRect(x, y, iconSize.width, iconSize.height);
+        g.setColor(oldColor);
+    }
+
+    private boolean canLoadAsync() {
+        return !svgDocumentHolder.isLoaded()
+                && !svgDocumentHolder.asyncLoadingFailed
+                && IconLoader.isAsyncLoadingEnabled()
+                // The size is needed for layout and can't be inferred without the document.
+                && iconSize.width >= 0 && iconSize.height >= 0
+                && SwingUtilities.isEventDispatchThread();
+    }
+
+    boolean isDocumentLoaded() {
+        return svgDocumentHolder.isLoaded();
+    }
+
     public boolean isDirectRenderingMode() {
         return directRendering;
     }
@@ -314,9 +461,14 @@ public class DarkSVGIcon
 
     private static class SVGDocumentHolder {
         private final @NotNull AtomicBoolean loaded = new AtomicBoolean();
-        private SVGDocument svgDocument;
+        private volatile SVGDocument svgDocument;
         private final @NotNull URI uri;
-        private Insets visualPadding;
+        private volatile Insets visualPadding;
+
+        // Only accessed from the event dispatch thread.
+        private boolean asyncLoadingScheduled;
+        private boolean asyncLoadingFailed;
+        private final Set<RepaintRequest> pendingRepaints = new LinkedHashSet<>();
 
         private SVGDocumentHolder(final @NotNull URI uri) {
             this(uri, null);
@@ -327,7 +479,39 @@ public class DarkSVGIcon
             this.svgDocument = svgDocument;
         }
 
-        private boolean ensureLoaded(final @NotNull DarkSVGIcon darkSVGIcon) {
+        private boolean isLoaded() {
+            return loaded.get();
+        }
+
+        private void loadAsync(final @NotNull DarkSVGIcon darkSVGIcon, final Component c, final int x, final int y) {
+            if (c != null) {
+                pendingRepaints.add(new RepaintRequest(c, x, y, darkSVGIcon.iconSize.width,
+                        darkSVGIcon.iconSize.height));
+            }
+            if (asyncLoadingScheduled) return;
+            asyncLoadingScheduled = true;
+            IconLoader.asyncLoadingExecutor().execute(() -> {
+                try {
+                    ensureLoaded(darkSVGIcon);
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Loading '" + uri.toASCIIString() + "' in the background failed.", e);
+                } finally {
+                    SwingUtilities.invokeLater(this::asyncLoadingFinished);
+                }
+            });
+        }
+
+        private void asyncLoadingFinished() {
+            asyncLoadingScheduled = false;
+            // Load synchronously on the next attempt to report the error the same way as without async loading.
+            asyncLoadingFailed = !isLoaded();
+            for (RepaintRequest request : pendingRepaints) {
+                request.repaint();
+            }
+            pendingRepaints.clear();
+        }
+
+        private synchronized boolean ensureLoaded(final @NotNull DarkSVGIcon darkSVGIcon) {
             if (!loaded.get()) {
                 URI iconUri = uri;
                 LOGGER.finer(() -> "Loading icon '" + iconUri.toASCIIString() + "'.");
@@ -379,4 +563,38 @@ public class DarkSVGIcon
                     '}';
         }
     }
+
+    private static final class RepaintRequest {
+        private final Component component;
+        private final Rectangle bounds;
+
+        private RepaintRequest(final Component component, final int x, final int y, final int width,
+                final int height) {
+            this.component = component;
+            this.bounds = new Rectangle(x, y, width, height);
+        }
+
+        private void repaint() {
+            // Renderers aren't part of the visible hierarchy. Repaint the component using them instead.
+            Container rendererPane = SwingUtilities.getAncestorOfClass(CellRendererPane.class, component);
+            if (rendererPane != null && rendererPane.getParent() != null) {
+                rendererPane.getParent().repaint();
+            } else {
+                component.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RepaintRequest)) return false;
+            RepaintRequest that = (RepaintRequest) o;
+            return component == that.component && bounds.equals(that.bounds);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(component) + bounds.hashCode();
+        }
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared images into which small icons are rasterized. Painting icons from a few large images instead
+ * of many small ones allows the rendering pipeline to keep them in accelerated memory and to batch the
+ * drawing operations.
+ *
+ * <p>
+ * There is one atlas per screen scale. All atlases are discarded when the theme changes. The region of
+ * an icon is reclaimed once it is released or the icon has been garbage collected. Reclaimed regions
+ * are reused for icons of the same size.
+ *
+ * @author Jannis Weis
+ */
+final class IconAtlas {
+
+    private static final int PAGE_SIZE = 512;
+    private static final int MAX_PAGE_COUNT = 4;
+    // Larger icons don't benefit from sharing an image and would waste space in the atlas.
+    private static final int MAX_ICON_SIZE = 64;
+    // Keeps interpolation from bleeding into neighbouring icons.
+    private static final int PADDING = 1;
+
+    private static final Map<ScaleKey, IconAtlas> atlases = new HashMap<>();
+    private static Object themeStatus;
+
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<Dimension, List<Region>> freeRegions = new HashMap<>();
+    // The owners have to be reachable in order to be enqueued once their icon is collected.
+    private final Set<Owner> owners = new HashSet<>();
+    private final ReferenceQueue<DarkSVGIcon> collectedIcons = new ReferenceQueue<>();
+
+    private IconAtlas() {}
+
+    static synchronized IconAtlas get(final double scaleX, final double scaleY) {
+        Object currentThemeStatus = IconLoader.getThemeStatus();
+        if (themeStatus != currentThemeStatus) {
+            atlases.clear();
+            themeStatus = currentThemeStatus;
+        }
+        return atlases.computeIfAbsent(new ScaleKey(scaleX, scaleY), s -> new IconAtlas());
+    }
+
+    static synchronized void invalidate() {
+        atlases.clear();
+    }
+
+    /**
+     * Rasterizes the icon into the atlas.
+     *
+     * @param icon the icon.
+     * @param region the region the icon currently occupies. If it is still valid and has the correct
+     *        size it is reused. Otherwise it has to be released by the caller.
+     * @param size the size of the rasterized icon.
+     * @return the region containing the icon or null if the icon can't be placed into the atlas.
+     */
+    synchronized Region render(final DarkSVGIcon icon, final Region region, final Dimension size) {
+        if (size.width > MAX_ICON_SIZE || size.height > MAX_ICON_SIZE) return null;
+        Region target = region;
+        if (target == null || target.atlas != this || target.width != size.width
+                || target.height != size.height) {
+            target = allocate(size.width, size.height);
+            if (target == null) return null;
+            Owner owner = new Owner(icon, target, collectedIcons);
+            owners.add(owner);
+            target.owner = owner;
+        }
+        Graphics2D g = target.page.image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(target.x, target.y, target.width, target.height);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.translate(target.x, target.y);
+            g.clipRect(0, 0, target.width, target.height);
+            icon.renderImage(g, size);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private Region allocate(final int width, final int height) {
+        reclaimCollectedRegions();
+        List<Region> free = freeRegions.get(new Dimension(width, height));
+        if (free != null && !free.isEmpty()) {
+            Region region = free.remove(free.size() - 1);
+            // The region may still be referenced by its previous owner.
+            return new Region(this, region.page, region.x, region.y, width, height);
+        }
+        for (Page page : pages) {
+            Region region = page.allocate(this, width, height);
+            if (region != null) return region;
+        }
+        if (pages.size() >= MAX_PAGE_COUNT) return null;
+        Page page = new Page();
+        pages.add(page);
+        return page.allocate(this, width, height);
+    }
+
+    private void reclaimCollectedRegions() {
+        Owner owner;
+        while ((owner = (Owner) collectedIcons.poll()) != null) {
+            reclaim(owner);
+        }
+    }
+
+    private synchronized void release(final Region region) {
+        Owner owner = region.owner;
+        if (owner == null) return;
+        owner.clear();
+        reclaim(owner);
+    }
+
+    private void reclaim(final Owner owner) {
+        if (!owners.remove(owner)) return;
+        Region region = owner.region;
+        region.owner = null;
+        freeRegions.computeIfAbsent(new Dimension(region.width, region.height), d -> new ArrayList<>()).add(region);
+    }
+
+    boolean isValid(final Region region) {
+        synchronized (IconAtlas.class) {
+            return region.atlas == this && themeStatus == IconLoader.getThemeStatus()
+                    && atlases.containsValue(this);
+        }
+    }
+
+    private static final class Page {
+        private final BufferedImage image = new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        private int shelfY;
+        private int shelfHeight;
+        private int cursorX;
+
+        private Region allocate(final IconAtlas atlas, final int width, final int height) {
+            if (cursorX + width > PAGE_SIZE) {
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+                cursorX = 0;
+            }
+            if (shelfY + height > PAGE_SIZE) return null;
+            Region region = new Region(atlas, this, cursorX, shelfY, width, height);
+            cursorX += width + PADDING;
+            shelfHeight = Math.max(shelfHeight, height + PADDING);
+            return region;
+        }
+    }
+
+    static final class Region {
+        private final IconAtlas atlas;
+        private final Page page;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private Owner owner;
+
+        private Region(final IconAtlas atlas, final Page page, final int x, final int y, final int width,
+                final int height) {
+            this.atlas = atlas;
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        boolean isValid() {
+            return atlas.isValid(this);
+        }
+
+        /**
+         * Releases the region such that it can be used by other icons. The region must not be painted
+         * afterwards.
+         */
+        void release() {
+            atlas.release(this);
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getHeight() {
+            return height;
+        }
+
+        void paint(final Graphics g, final ImageObserver observer) {
+            g.drawImage(page.image, 0, 0, width, height, x, y, x + width, y + height, observer);
+        }
+    }
+
+    private static final class Owner extends WeakReference<DarkSVGIcon> {
+        private final Region region;
+
+        private Owner(final DarkSVGIcon icon, final Region region, final ReferenceQueue<DarkSVGIcon> queue) {
+            super(icon, queue);
+            this.region = region;
+        }
+    }
+
+    private static final class ScaleKey {
+        private final double scaleX;
+        private final double scaleY;
+
+        private ScaleKey(final double scaleX, final double scaleY) {
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ScaleKey)) return false;
+            ScaleKey scale = (ScaleKey) o;
+            return Double.compare(scale.scaleX, scaleX) == 0 && Double.compare(scale.scaleY, scaleY) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(scaleX) + Double.hashCode(scaleY);
+        }
+    }
+}
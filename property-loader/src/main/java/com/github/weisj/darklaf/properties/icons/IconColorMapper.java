@@ -41,6 +41,7 @@ public final class IconColorMapper {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
     private static final String INLINE_VALUE_PREFIX = "%";
     private static final Color FALLBACK_COLOR = Color.RED;
+    private static final int MAX_REFERENCE_DEPTH = 5;
 
     public static Color resolveColor(final String key, final String[] fallbacks,
             final Map<Object, Object> propertyMap, final Map<Object, Object> contextDefaults) {
@@ -75,14 +76,11 @@ public final class IconColorMapper {
 
     public static <T> Pair<Object, T> getEntry(final Map<Object, Object> map, final Map<Object, Object> contextDefaults,
             final Object key, final Object[] fallbacks, final Class<T> type) {
-        Object obj = null;
-        String refPrefix = PropertyLoader.getReferencePrefix();
-        Set<Object> seen = new HashSet<>();
         Object currentKey = key;
         int max = fallbacks != null ? fallbacks.length : 0;
-        outer: for (int i = -1; i < max; i++) {
+        for (int i = -1; i < max; i++) {
             currentKey = i < 0 ? key : fallbacks[i];
-            int retryCount = 5;
+            Object obj = null;
             if (i >= 0 && currentKey instanceof String && ((String) currentKey).startsWith(INLINE_VALUE_PREFIX)) {
                 ParseResult p = Parser.parse(
                         Parser.createParseResult(Objects.toString(key),
@@ -90,31 +88,48 @@ public final class IconColorMapper {
                         new ParserContext(map, contextDefaults, IconLoader.get()));
                 obj = Types.safeCast(p.result, type);
             }
-            do {
-                if (obj == null) {
-                    obj = map.get(currentKey);
-                }
-                if (contextDefaults != null && (obj == null || seen.contains(obj))) {
-                    obj = contextDefaults.get(currentKey);
-                }
+            if (obj == null) {
+                obj = lookup(map, contextDefaults, currentKey);
+            }
+            /*
+             * References between properties loaded by the PropertyLoader are already resolved, in which case
+             * the first lookup is the value. Maps passed in directly e.g. those of custom themed icons may
+             * still contain chains of references.
+             */
+            String reference = asReference(obj);
+            if (reference != null) {
+                Set<Object> seen = new HashSet<>();
                 seen.add(obj);
-                if (obj instanceof String && obj.toString().startsWith(refPrefix)) {
-                    currentKey = obj.toString().substring(refPrefix.length());
-                    obj = null;
-                } else {
-                    if (type.isInstance(obj)) {
-                        // We found the value
-                        break outer;
-                    } else {
-                        // Any further searches won't find anything.
-                        // The value doesn't explicitly reference other keys.
-                        continue outer;
+                for (int depth = 0; reference != null && depth < MAX_REFERENCE_DEPTH; depth++) {
+                    currentKey = reference;
+                    obj = map.get(currentKey);
+                    if (contextDefaults != null && (obj == null || seen.contains(obj))) {
+                        // References back to a value which has already been seen continue in the defaults.
+                        obj = contextDefaults.get(currentKey);
                     }
+                    reference = seen.add(obj) ? asReference(obj) : null;
                 }
-                retryCount--;
-            } while (retryCount > 0);
+            }
+            if (type.isInstance(obj)) return new Pair<>(currentKey, type.cast(obj));
+        }
+        return new Pair<>(currentKey, null);
+    }
+
+    private static Object lookup(final Map<Object, Object> map, final Map<Object, Object> contextDefaults,
+            final Object key) {
+        Object obj = map.get(key);
+        if (obj == null && contextDefaults != null) {
+            obj = contextDefaults.get(key);
+        }
+        return obj;
+    }
+
+    private static String asReference(final Object obj) {
+        String refPrefix = PropertyLoader.getReferencePrefix();
+        if (obj instanceof String && ((String) obj).startsWith(refPrefix)) {
+            return ((String) obj).substring(refPrefix.length());
         }
-        return new Pair<>(currentKey, type.cast(obj));
+        return null;
     }
 
     public static <T> T get(final Map<Object, Object> map, final Map<Object, Object> contextDefaults, final Object key,
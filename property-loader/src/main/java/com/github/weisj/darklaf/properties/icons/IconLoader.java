@@ -21,13 +21,32 @@
 package com.github.weisj.darklaf.properties.icons;
 
 import java.awt.*;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
@@ -38,6 +57,11 @@ import org.jetbrains.annotations.Nullable;
 
 import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.cache.Cache;
+import com.github.weisj.darklaf.util.cache.CachePolicy;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
 import com.github.weisj.darklaf.util.cache.SoftCache;
 import com.github.weisj.jsvg.parser.SVGLoader;
 
@@ -49,22 +73,52 @@ import com.github.weisj.jsvg.parser.SVGLoader;
  */
 public final class IconLoader implements IconResolver {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
-    private static final Map<Class<?>, IconLoader> iconLoaderMap = new HashMap<>();
-    private static final LazyValue<IconLoader> instance = new LazyValue<>(() -> get(null));
+    private static final Map<Object, IconLoader> iconLoaderMap = new ConcurrentHashMap<>();
+    // ConcurrentHashMap doesn't permit null keys.
+    private static final Object ROOT_LOADER_KEY = new Object();
 
     private static final AtomicReference<Object> currentThemeKey = new AtomicReference<>(null);
     private static final AtomicReference<AwareIconStyle> currentAwareStyle = new AtomicReference<>(null);
 
-    private static final SVGLoader loader;
+    /**
+     * If enabled svg icons with a known size, which are painted for the first time, are loaded in the
+     * background. Until the icon is loaded nothing is painted and the component is repainted once the
+     * icon is ready.
+     */
+    public static final String ASYNC_LOADING_FLAG = "darklaf.asyncIconLoading";
+
+    /**
+     * If enabled small svg icons are rasterized into shared images instead of each icon having its own
+     * image. The shared images are rebuilt when the theme or the screen scale changes.
+     */
+    public static final String ICON_ATLAS_FLAG = "darklaf.iconAtlas";
+
+    // SVGLoader is not thread safe. Each thread uses its own instance to avoid creating a new one for each icon.
+    private static final ThreadLocal<SVGLoader> loader = ThreadLocal.withInitial(SVGLoader::new);
+    private static final LazyValue<Executor> asyncLoadingExecutor =
+            new LazyValue<>(IconLoader::createAsyncLoadingExecutor);
+    private static volatile boolean asyncLoadingEnabled = PropertyUtil.getSystemFlag(ASYNC_LOADING_FLAG, false);
+    private static volatile boolean iconAtlasEnabled = PropertyUtil.getSystemFlag(ICON_ATLAS_FLAG, false);
 
     // Infer size by default.
     private static final int DEFAULT_WIDTH_SVG = -1;
     private static final int DEFAULT_HEIGHT_SVG = -1;
+    // Used to estimate the memory of icons with an inferred size.
+    private static final int ESTIMATED_ICON_SIZE = 16;
+    /*
+     * Optional index of the sizes of the svg icons next to the parent class, which is generated at build
+     * time. This avoids parsing icons with an inferred size only to determine their size.
+     */
+    private static final String SVG_SIZE_INDEX = "svgIconSizes.properties";
     private final @Nullable Class<?> parentClass;
+    private volatile Properties svgSizeIndex;
 
-    private boolean cacheEnabled = true;
-    private final SoftCache<IconKey, DarkUIAwareIcon> awareIconCache = new SoftCache<>();
-    private final SoftCache<IconKey, CacheableIcon> iconCache = new SoftCache<>();
+    private volatile boolean cacheEnabled = true;
+    private volatile CachePolicy cachePolicy;
+    private volatile Cache<IconKey, DarkUIAwareIcon> awareIconCache;
+    private volatile Cache<IconKey, CacheableIcon> iconCache;
+    private final Map<IconKey, FutureTask<DarkUIAwareIcon>> pendingAwareIcons = new ConcurrentHashMap<>();
+    private final Map<IconKey, FutureTask<CacheableIcon>> pendingIcons = new ConcurrentHashMap<>();
 
     static {
         UIManager.addPropertyChangeListener(e -> {
@@ -74,14 +128,157 @@ public final class IconLoader implements IconResolver {
                 updateThemeStatus(new Object());
             }
         });
-        loader = new SVGLoader();
     }
 
     static @NotNull SVGLoader svgLoader() {
-        // SVGLoader is not thread safe. For the EDT we use a cached version to avoid UI slow downs.
-        // All other cases are probably fine with the overhead of creating a new SVGLoader instance.
-        if (SwingUtilities.isEventDispatchThread()) return loader;
-        return new SVGLoader();
+        return loader.get();
+    }
+
+    static synchronized @NotNull Executor asyncLoadingExecutor() {
+        return asyncLoadingExecutor.get();
+    }
+
+    private static Executor createAsyncLoadingExecutor() {
+        int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "darklaf-icon-loader-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Sets whether svg icons should be loaded in the background.
+     *
+     * @param enabled true if icons should be loaded asynchronously.
+     * @see #ASYNC_LOADING_FLAG
+     */
+    public static void setAsyncLoadingEnabled(final boolean enabled) {
+        asyncLoadingEnabled = enabled;
+    }
+
+    /**
+     * Returns whether svg icons are loaded in the background.
+     *
+     * @return true if icons are loaded asynchronously.
+     */
+    public static boolean isAsyncLoadingEnabled() {
+        return asyncLoadingEnabled;
+    }
+
+    /**
+     * Rasterizes the given icons in the background for the scales of all screens. Painting the icons on
+     * any of these screens, or moving them between screens, doesn't need to rasterize them again.
+     * Icons which aren't svg icons are ignored.
+     *
+     * <p>
+     * This method should be called from the event dispatch thread.
+     *
+     * @param icons the icons to prepare.
+     */
+    public static void prewarm(final @NotNull Collection<? extends Icon> icons) {
+        prewarm(icons, getScreenScales());
+    }
+
+    /**
+     * Rasterizes all icons currently cached by this loader in the background for the scales of all
+     * screens.
+     *
+     * @see #prewarm(Collection)
+     */
+    public void prewarmCache() {
+        prewarm(iconCache.values());
+    }
+
+    static void prewarm(final Collection<? extends Icon> icons, final Collection<Point2D> scales) {
+        List<DarkSVGIcon> svgIcons = new ArrayList<>();
+        for (Icon icon : icons) {
+            if (icon instanceof DarkSVGIcon) svgIcons.add((DarkSVGIcon) icon);
+        }
+        if (svgIcons.isEmpty() || scales.isEmpty()) return;
+        Executor executor = asyncLoadingExecutor();
+        executor.execute(() -> {
+            for (DarkSVGIcon icon : svgIcons) {
+                try {
+                    icon.loadDocument();
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Could not prewarm " + icon, e);
+                }
+            }
+            SwingUtilities.invokeLater(() -> rasterize(svgIcons, scales, executor));
+        });
+    }
+
+    private static void rasterize(final List<DarkSVGIcon> icons, final Collection<Point2D> scales,
+            final Executor executor) {
+        Object themeStatus = getThemeStatus();
+        List<DarkSVGIcon> targetIcons = new ArrayList<>();
+        List<Point2D> targetScales = new ArrayList<>();
+        for (DarkSVGIcon icon : icons) {
+            if (!icon.isDocumentLoaded()) continue;
+            icon.prepareRasterization();
+            for (Point2D scale : scales) {
+                if (!icon.hasScaledImage(scale.getX(), scale.getY())) {
+                    targetIcons.add(icon);
+                    targetScales.add(scale);
+                }
+            }
+        }
+        if (targetIcons.isEmpty()) return;
+        executor.execute(() -> {
+            Image[] images = new Image[targetIcons.size()];
+            for (int i = 0; i < images.length; i++) {
+                try {
+                    images[i] = targetIcons.get(i).rasterize(targetScales.get(i).getX(), targetScales.get(i).getY());
+                } catch (final RuntimeException e) {
+                    // The icon will be rasterized once it is painted.
+                    LOGGER.log(Level.FINE, "Could not prewarm " + targetIcons.get(i), e);
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                // The images are outdated if the theme changed in the meantime.
+                if (getThemeStatus() != themeStatus) return;
+                for (int i = 0; i < images.length; i++) {
+                    if (images[i] == null) continue;
+                    targetIcons.get(i).addScaledImage(targetScales.get(i).getX(), targetScales.get(i).getY(),
+                            images[i]);
+                }
+            });
+        });
+    }
+
+    private static Collection<Point2D> getScreenScales() {
+        if (GraphicsEnvironment.isHeadless()) return Collections.emptyList();
+        Set<Point2D> scales = new LinkedHashSet<>();
+        for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            GraphicsConfiguration gc = device.getDefaultConfiguration();
+            scales.add(new Point2D.Double(Scale.getScaleX(gc), Scale.getScaleY(gc)));
+        }
+        return scales;
+    }
+
+    /**
+     * Sets whether small svg icons should be rasterized into shared images.
+     *
+     * @param enabled true if the icon atlas should be used.
+     * @see #ICON_ATLAS_FLAG
+     */
+    public static void setIconAtlasEnabled(final boolean enabled) {
+        iconAtlasEnabled = enabled;
+        if (!enabled) IconAtlas.invalidate();
+    }
+
+    /**
+     * Returns whether small svg icons are rasterized into shared images.
+     *
+     * @return true if the icon atlas is used.
+     */
+    public static boolean isIconAtlasEnabled() {
+        return iconAtlasEnabled;
     }
 
     /**
@@ -102,9 +299,19 @@ public final class IconLoader implements IconResolver {
         return awareIconCache.isEmpty() && iconCache.isEmpty();
     }
 
-    private IconLoader(final @Nullable Class<?> parentClass) {
+    /**
+     * Returns the combined statistics of the icon caches.
+     *
+     * @return the cache statistics.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return awareIconCache.getStatistics().plus(iconCache.getStatistics());
+    }
+
+    // Package private such that tests can use a loader which hasn't loaded any resources yet.
+    IconLoader(final @Nullable Class<?> parentClass) {
         this.parentClass = parentClass;
-        iconLoaderMap.put(parentClass, this);
+        setCachePolicy(CachePolicy.soft());
     }
 
     /**
@@ -113,7 +320,7 @@ public final class IconLoader implements IconResolver {
      * @return the default icon loader.
      */
     public static @NotNull IconLoader get() {
-        return instance.get();
+        return get(null);
     }
 
     /**
@@ -122,13 +329,8 @@ public final class IconLoader implements IconResolver {
      * @return the default icon loader.
      */
     public static @NotNull IconLoader get(final @Nullable Class<?> parentClass) {
-        if (iconLoaderMap.containsKey(parentClass)) {
-            return iconLoaderMap.get(parentClass);
-        } else {
-            IconLoader loader = new IconLoader(parentClass);
-            iconLoaderMap.put(parentClass, loader);
-            return loader;
-        }
+        Object key = parentClass != null ? parentClass : ROOT_LOADER_KEY;
+        return iconLoaderMap.computeIfAbsent(key, k -> new IconLoader(parentClass));
     }
 
     /**
@@ -143,6 +345,38 @@ public final class IconLoader implements IconResolver {
         }
     }
 
+    /**
+     * Sets the policy used for caching icons. By default icons are softly referenced i.e. they are
+     * retained until the garbage collector decides to reclaim them. Use {@link CachePolicy#bounded(long)}
+     * to bound the estimated size of the cached icons in memory instead. Changing the policy clears the
+     * cache.
+     *
+     * @param cachePolicy the cache policy.
+     * @see CachePolicy#soft()
+     * @see CachePolicy#bounded(long)
+     */
+    public synchronized void setCachePolicy(final @NotNull CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        awareIconCache = cachePolicy.createCache(IconLoader::estimateBytes);
+        iconCache = cachePolicy.createCache(IconLoader::estimateBytes);
+    }
+
+    /**
+     * Returns the policy used for caching icons.
+     *
+     * @return the cache policy.
+     */
+    public @NotNull CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    private static long estimateBytes(final IconKey key, final Icon icon) {
+        long w = key.w > 0 ? key.w : ESTIMATED_ICON_SIZE;
+        long h = key.h > 0 ? key.h : ESTIMATED_ICON_SIZE;
+        // Assume the icon is rasterized to an ARGB image.
+        return 4 * w * h;
+    }
+
     /**
      * Clears the icon cache.
      */
@@ -178,6 +412,18 @@ public final class IconLoader implements IconResolver {
      */
     public static void updateThemeStatus(final Object theme) {
         currentThemeKey.set(theme);
+        IconAtlas.invalidate();
+        ThemedColorTable.invalidate();
+    }
+
+    /**
+     * Returns the statistics of the table of resolved colors of themed icons. The weight corresponds to
+     * the number of colors resolved for the current theme.
+     *
+     * @return the statistics.
+     */
+    public static CacheStatistics getThemedColorStatistics() {
+        return ThemedColorTable.getStatistics();
     }
 
     /** Reload all created frame icons if necessary. */
@@ -228,13 +474,15 @@ public final class IconLoader implements IconResolver {
      */
     @Override
     public @NotNull DarkUIAwareIcon getUIAwareIcon(final @NotNull String path, final int w, final int h) {
+        if (!isCacheEnabled()) return createUIAwareIcon(path, w, h);
         IconKey key = new IconKey(path, w, h);
-        DarkUIAwareIcon icon;
-        if (!isCacheEnabled() || ((icon = awareIconCache.get(key)) == null)) {
-            icon = createUIAwareIcon(path, w, h);
-            cache(awareIconCache, key, icon);
-        }
-        return icon;
+        DarkUIAwareIcon icon = awareIconCache.get(key);
+        if (icon != null) return icon;
+        return createOnce(pendingAwareIcons, key, () -> awareIconCache.get(key), () -> {
+            DarkUIAwareIcon created = createUIAwareIcon(path, w, h);
+            cache(awareIconCache, key, created);
+            return created;
+        });
     }
 
     /**
@@ -331,46 +579,87 @@ public final class IconLoader implements IconResolver {
 
     @NotNull
     private Icon getIconImpl(final @NotNull String path, final int w, final int h, final boolean themed) {
-        synchronized (this) {
-            IconKey key = new IconKey(path, w, h);
-
-            if (isCacheEnabled()) {
-                CacheableIcon icon;
-                if ((icon = iconCache.get(key)) != null) {
-                    return icon;
-                } else if ((icon = awareIconCache.get(key)) != null) {
-                    return icon;
-                }
-                icon = getWildcardIcon(iconCache, key, w, h);
-                if (icon != null) return icon;
-            }
+        IconKey key = new IconKey(path, w, h);
+        if (!isCacheEnabled()) return createIcon(key, themed);
+
+        CacheableIcon icon = getCachedIcon(key);
+        if (icon != null) return icon;
+        return createOnce(pendingIcons, key, () -> getCachedIcon(key), () -> {
+            CacheableIcon created = getWildcardIcon(iconCache, key);
+            if (created == null) created = createIcon(key, themed);
+            cache(iconCache, key, created);
+            return created;
+        });
+    }
 
-            // Icon not found or caching is disabled.
-            CacheableIcon icon = isSVGIcon(path)
-                    ? loadSVGIconInternal(path, w, h, themed, null)
-                    : new DerivableImageIcon(new LazyImageIconSupplier(path, key, parentClass), w, h);
-            cache(iconCache, key, icon);
-            return icon;
-        }
+    private @Nullable CacheableIcon getCachedIcon(final IconKey key) {
+        CacheableIcon icon = iconCache.get(key);
+        if (icon == null) icon = awareIconCache.get(key);
+        return icon;
+    }
+
+    private @NotNull CacheableIcon createIcon(final IconKey key, final boolean themed) {
+        return isSVGIcon(key.path)
+                ? loadSVGIconInternal(key.path, key.w, key.h, themed, null)
+                : new DerivableImageIcon(new LazyImageIconSupplier(key.path, key, parentClass), key.w, key.h);
     }
 
-    private @Nullable CacheableIcon getWildcardIcon(final SoftCache<IconKey, CacheableIcon> iconMap,
-            final IconKey iconKey, final int w, final int h) {
-        iconKey.isWildcardEnabled = true;
-        CacheableIcon icon = iconMap.get(iconKey);
+    private @Nullable CacheableIcon getWildcardIcon(final Cache<IconKey, CacheableIcon> iconMap,
+            final IconKey iconKey) {
+        IconKey wildcardKey = new IconKey(iconKey.path, iconKey.w, iconKey.h);
+        wildcardKey.isWildcardEnabled = true;
+        CacheableIcon icon = iconMap.get(wildcardKey);
         if (icon instanceof DerivableIcon) {
             @SuppressWarnings("unchecked")
-            CacheableIcon derived = (CacheableIcon) ((DerivableIcon<Icon>) icon).derive(w, h);
-            iconKey.isWildcardEnabled = false;
-            cache(iconMap, iconKey, derived);
+            CacheableIcon derived = (CacheableIcon) ((DerivableIcon<Icon>) icon).derive(iconKey.w, iconKey.h);
             return derived;
         }
-        iconKey.isWildcardEnabled = false;
         return null;
     }
 
-    private <T extends CacheableIcon> void cache(final SoftCache<IconKey, T> iconMap, final IconKey key, final T icon) {
+    /*
+     * Creates the icon for the given key at most once, even if called concurrently. Concurrent callers
+     * wait for the creation in progress and receive the same icon. The factory is responsible for
+     * caching the icon, which has to happen before the pending creation is removed.
+     */
+    private <T extends CacheableIcon> T createOnce(final Map<IconKey, FutureTask<T>> pending, final IconKey key,
+            final Supplier<T> lookup, final Supplier<T> factory) {
+        FutureTask<T> task = new FutureTask<>(() -> {
+            // The icon may have been created after the initial lookup and before this task was registered.
+            T icon = lookup.get();
+            return icon != null ? icon : factory.get();
+        });
+        FutureTask<T> existing = pending.putIfAbsent(key, task);
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                pending.remove(key, task);
+            }
+            existing = task;
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return existing.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T extends CacheableIcon> void cache(final Cache<IconKey, T> iconMap, final IconKey key, final T icon) {
         if (cacheEnabled) {
+            icon.setCacheKey(key);
             iconMap.put(key, icon);
         }
     }
@@ -422,9 +711,18 @@ public final class IconLoader implements IconResolver {
         return loadSVGIconInternal(path, w, h, themed, propertyMap);
     }
 
-    private CacheableIcon loadSVGIconInternal(final String path, final int w, final int h, final boolean themed,
-            final Map<Object, Object> propertyMap) {
+    private CacheableIcon loadSVGIconInternal(final String path, final int width, final int height,
+            final boolean themed, final Map<Object, Object> propertyMap) {
         URI uri = createURI(path);
+        int w = width;
+        int h = height;
+        if (w == DEFAULT_WIDTH_SVG && h == DEFAULT_HEIGHT_SVG) {
+            Dimension size = getIndexedSVGSize(path);
+            if (size != null) {
+                w = size.width;
+                h = size.height;
+            }
+        }
         DarkSVGIcon svgIcon;
         if (themed) {
             if (propertyMap != null) {
@@ -438,6 +736,46 @@ public final class IconLoader implements IconResolver {
         return svgIcon;
     }
 
+    private @Nullable Dimension getIndexedSVGSize(final String path) {
+        String size = getSVGSizeIndex().getProperty(path);
+        if (size == null) return null;
+        int separator = size.indexOf(',');
+        try {
+            return new Dimension(Integer.parseInt(size.substring(0, separator)),
+                    Integer.parseInt(size.substring(separator + 1)));
+        } catch (final RuntimeException e) {
+            LOGGER.warning("Invalid size '" + size + "' for icon '" + path + "' in " + SVG_SIZE_INDEX);
+            return null;
+        }
+    }
+
+    private @NotNull Properties getSVGSizeIndex() {
+        // Icons are requested concurrently, hence the index has to be published safely.
+        Properties index = svgSizeIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = svgSizeIndex;
+                if (index == null) {
+                    index = loadSVGSizeIndex();
+                    svgSizeIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private @NotNull Properties loadSVGSizeIndex() {
+        Properties index = new Properties();
+        URL url = getResource(SVG_SIZE_INDEX);
+        if (url == null) return index;
+        try (InputStream stream = url.openStream()) {
+            index.load(stream);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not load " + SVG_SIZE_INDEX + " " + e.getMessage(), e);
+        }
+        return index;
+    }
+
     private @NotNull URI createURI(final String path) {
         try {
             return Objects.requireNonNull(getResource(path), path).toURI();
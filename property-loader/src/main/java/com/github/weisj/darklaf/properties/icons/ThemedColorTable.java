@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.*;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
+/**
+ * The resolved colors of themed icons for the current theme. Icons using the same color keys share the
+ * resolved colors instead of each resolving them through the defaults.
+ *
+ * <p>
+ * The table is discarded whenever {@link IconLoader#updateThemeStatus(Object)} or
+ * {@link ThemedSVGIcon#invalidate()} is called or a value of the defaults is changed.
+ *
+ * @author Jannis Weis
+ */
+final class ThemedColorTable {
+
+    private static final LongAdder hitCount = new LongAdder();
+    private static final LongAdder missCount = new LongAdder();
+    private static volatile ThemedColorTable current;
+
+    private final Object themeStatus;
+    private final UIDefaults defaults;
+    private final Map<PaintKey, Color> colors = new ConcurrentHashMap<>();
+    private final PropertyChangeListener defaultsListener = e -> {
+        if (current == this) invalidate();
+    };
+
+    private ThemedColorTable(final Object themeStatus, final UIDefaults defaults) {
+        this.themeStatus = themeStatus;
+        this.defaults = defaults;
+        defaults.addPropertyChangeListener(defaultsListener);
+    }
+
+    static void invalidate() {
+        ThemedColorTable table = current;
+        current = null;
+        if (table != null) table.dispose();
+    }
+
+    private void dispose() {
+        defaults.removePropertyChangeListener(defaultsListener);
+    }
+
+    static CacheStatistics getStatistics() {
+        ThemedColorTable table = current;
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), 0, table != null ? table.colors.size() : 0);
+    }
+
+    /**
+     * Returns the table for the given defaults.
+     *
+     * @param defaults the defaults the colors are resolved against.
+     * @return the table or null if the defaults aren't the global defaults.
+     */
+    static ThemedColorTable get(final Map<Object, Object> defaults) {
+        UIDefaults uiDefaults = UIManager.getDefaults();
+        if (defaults != uiDefaults) return null;
+        Object themeStatus = IconLoader.getThemeStatus();
+        ThemedColorTable table = current;
+        if (table == null || table.themeStatus != themeStatus || table.defaults != uiDefaults) {
+            if (table != null) table.dispose();
+            table = new ThemedColorTable(themeStatus, uiDefaults);
+            current = table;
+        }
+        return table;
+    }
+
+    Color resolve(final ThemedSVGIconParserProvider.ThemedSolidColorPaint paint) {
+        PaintKey key = new PaintKey(paint);
+        Color color = colors.get(key);
+        if (color != null) {
+            hitCount.increment();
+            return color;
+        }
+        missCount.increment();
+        color = ThemedSVGIconParserProvider.resolveColor(paint, defaults, null);
+        colors.put(key, color);
+        return color;
+    }
+
+    private static final class PaintKey {
+        private final String colorKey;
+        private final String[] colorFallbacks;
+        private final String opacityKey;
+        private final String[] opacityFallbacks;
+        private final float originalOpacity;
+        private final int hashCode;
+
+        private PaintKey(final ThemedSVGIconParserProvider.ThemedSolidColorPaint paint) {
+            this.colorKey = paint.colorKey;
+            this.colorFallbacks = paint.colorFallbacks;
+            this.opacityKey = paint.opacityKey;
+            this.opacityFallbacks = paint.opacityFallbacks;
+            this.originalOpacity = paint.originalOpacity;
+            int result = Objects.hashCode(colorKey);
+            result = 31 * result + Arrays.hashCode(colorFallbacks);
+            result = 31 * result + Objects.hashCode(opacityKey);
+            result = 31 * result + Arrays.hashCode(opacityFallbacks);
+            result = 31 * result + Float.hashCode(originalOpacity);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PaintKey)) return false;
+            PaintKey that = (PaintKey) o;
+            return hashCode == that.hashCode
+                    && Float.compare(originalOpacity, that.originalOpacity) == 0
+                    && Objects.equals(colorKey, that.colorKey)
+                    && Objects.equals(opacityKey, that.opacityKey)
+                    && Arrays.equals(colorFallbacks, that.colorFallbacks)
+                    && Arrays.equals(opacityFallbacks, that.opacityFallbacks);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -21,8 +21,8 @@
 package com.github.weisj.darklaf.properties.icons;
 
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.swing.*;
 
@@ -44,7 +44,8 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
 
     public ThemedSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         super(uri, displayWidth, displayHeight);
-        this.paints = new ArrayList<>();
+        // Paints are registered while the document is loaded, which may happen on a background thread.
+        this.paints = new CopyOnWriteArrayList<>();
     }
 
     protected ThemedSVGIcon(final int width, final int height, final ThemedSVGIcon icon) {
@@ -116,6 +117,8 @@ public class ThemedSVGIcon extends DarkSVGIcon implements ThemedIcon {
 
     public void invalidate() {
         currentTheme = new Object();
+        // The shared colors may have been resolved before the defaults were changed.
+        ThemedColorTable.invalidate();
     }
 
     protected UIDefaults getContextDefaults() {
@@ -104,16 +104,24 @@ public class ThemedSVGIconParserProvider extends DefaultParserProvider {
 
     public static void patchColors(final List<ThemedSolidColorPaint> paints, final Map<Object, Object> propertyMap,
             final Map<Object, Object> contextDefaults) {
+        ThemedColorTable colorTable = contextDefaults == null ? ThemedColorTable.get(propertyMap) : null;
         for (ThemedSolidColorPaint paint : paints) {
-            paint.color = IconColorMapper.resolveColor(
-                    paint.colorKey, paint.colorFallbacks, propertyMap, contextDefaults);
-            float opacity = IconColorMapper.getOpacity(
-                    paint.opacityKey, paint.opacityFallbacks, propertyMap, contextDefaults);
-            if (opacity < 0) opacity = paint.originalOpacity;
-            paint.color = ColorUtil.toAlpha(paint.color, opacity);
+            paint.color = colorTable != null
+                    ? colorTable.resolve(paint)
+                    : resolveColor(paint, propertyMap, contextDefaults);
         }
     }
 
+    static Color resolveColor(final ThemedSolidColorPaint paint, final Map<Object, Object> propertyMap,
+            final Map<Object, Object> contextDefaults) {
+        Color color = IconColorMapper.resolveColor(
+                paint.colorKey, paint.colorFallbacks, propertyMap, contextDefaults);
+        float opacity = IconColorMapper.getOpacity(
+                paint.opacityKey, paint.opacityFallbacks, propertyMap, contextDefaults);
+        if (opacity < 0) opacity = paint.originalOpacity;
+        return ColorUtil.toAlpha(color, opacity);
+    }
+
     public static Map<Object, Object> getProperties(List<ThemedSVGIconParserProvider.ThemedSolidColorPaint> paints) {
         Map<Object, Object> values = new HashMap<>(paints.size() * 2, 0.75f);
         for (ThemedSVGIconParserProvider.ThemedSolidColorPaint paint : paints) {
@@ -134,12 +142,12 @@ public class ThemedSVGIconParserProvider extends DefaultParserProvider {
 
     static class ThemedSolidColorPaint implements SimplePaintSVGPaint {
 
-        private final String colorKey;
-        private final String[] colorFallbacks;
-        private final String opacityKey;
-        private final String[] opacityFallbacks;
+        final String colorKey;
+        final String[] colorFallbacks;
+        final String opacityKey;
+        final String[] opacityFallbacks;
 
-        private final float originalOpacity;
+        final float originalOpacity;
 
         private Color color = DefaultPaintParser.DEFAULT_COLOR;
 
@@ -20,8 +20,6 @@
  */
 package com.github.weisj.darklaf.properties.parser;
 
-import javax.swing.UIDefaults;
-
 public class ActiveObjectParser extends KeyFilteredParser {
 
     public ActiveObjectParser() {
@@ -30,8 +28,7 @@ public class ActiveObjectParser extends KeyFilteredParser {
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
-        return ParserUtil.setNonNull(parseResult,
-                (UIDefaults.ActiveValue) (def) -> ParserUtil.createObject(parseResult.value));
+        return ParserUtil.setNonNull(parseResult, new InstanceValue.Active(parseResult.value));
     }
 
 }
@@ -22,7 +22,7 @@ package com.github.weisj.darklaf.properties.parser;
 
 public class FallbackParser implements PropertyParser {
 
-    private static final String FALLBACK_PREFIX = "?:";
+    static final String FALLBACK_PREFIX = "?:";
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
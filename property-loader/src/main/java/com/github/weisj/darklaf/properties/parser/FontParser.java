@@ -79,7 +79,7 @@ public class FontParser extends KeyFilteredParser implements Delimiters {
 
         // noinspection MagicConstant
         Font font = base.deriveFont(style, size);
-        return ParserUtil.setNonNull(parseResult, new DarkFontUIResource(font.deriveFont(attributes)));
+        return ParserUtil.setNonNull(parseResult, DarkFontUIResource.shared(font.deriveFont(attributes)));
     }
 
     private ParseResult parseBaseFont(final ParseResult parseResult, final ParserContext context) {
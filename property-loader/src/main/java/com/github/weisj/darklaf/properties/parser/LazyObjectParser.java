@@ -20,8 +20,6 @@
  */
 package com.github.weisj.darklaf.properties.parser;
 
-import javax.swing.UIDefaults;
-
 public class LazyObjectParser extends KeyFilteredParser {
 
     public LazyObjectParser() {
@@ -30,7 +28,6 @@ public class LazyObjectParser extends KeyFilteredParser {
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
-        return ParserUtil.setNonNull(parseResult,
-                (UIDefaults.LazyValue) def -> ParserUtil.createObject(parseResult.value));
+        return ParserUtil.setNonNull(parseResult, new InstanceValue.Lazy(parseResult.value));
     }
 }
@@ -21,6 +21,7 @@
 package com.github.weisj.darklaf.properties.parser;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ParseResult {
@@ -28,14 +29,37 @@ public class ParseResult {
     public String value;
     public Object result;
     public boolean finished;
-    public List<String> warnings = new ArrayList<>();
+    /*
+     * Warnings are rare. Only allocate a list if one is actually added.
+     */
+    public List<String> warnings = Collections.emptyList();
 
     private String savedKey;
     private String savedValue;
 
     public ParseResult(final String key, final String value) {
+        reset(key, value);
+    }
+
+    /**
+     * Resets the state of the result, so it can be reused for parsing another value.
+     *
+     * @param key the new key.
+     * @param value the new value.
+     */
+    void reset(final String key, final String value) {
         this.key = key != null ? key : "";
         this.value = value != null ? value.trim() : "";
+        this.result = null;
+        this.finished = false;
+        this.warnings = Collections.emptyList();
+        this.savedKey = null;
+        this.savedValue = null;
+    }
+
+    public void addWarning(final String warning) {
+        if (warnings.isEmpty()) warnings = new ArrayList<>();
+        warnings.add(warning);
     }
 
     @Override
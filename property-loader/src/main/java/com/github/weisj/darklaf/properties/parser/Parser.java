@@ -20,30 +20,70 @@
  */
 package com.github.weisj.darklaf.properties.parser;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.github.weisj.darklaf.util.PropertyValue;
 
 
 public final class Parser {
 
     public static final Object EMPTY_VALUE = new Object();
 
-    private static final List<PropertyParser> steps = Arrays.asList(
-            new NullParser(),
-            new FallbackParser(),
-            new ReferenceParser(),
-            new PrimitiveParser(),
+    private static final PropertyParser nullParser = new NullParser();
+    private static final PropertyParser fallbackParser = new FallbackParser();
+    private static final PropertyParser referenceParser = new ReferenceParser();
+    private static final PropertyParser primitiveParser = new PrimitiveParser();
+    private static final PropertyParser listParser = new ListParser();
+    private static final PropertyParser mapParser = new MapParser();
+    private static final List<KeyFilteredParser> keyFilteredParsers = Arrays.asList(
             new InsetParser(),
             new LazyObjectParser(),
             new ActiveObjectParser(),
             new FontParser(),
             new IconParser(),
-            new DimensionParser(),
-            new ListParser(),
-            new MapParser());
+            new DimensionParser());
+
+    /*
+     * The key filtered parsers indexed by the last character of their suffixes. The order of the parsers
+     * is the same as in the list of steps.
+     */
+    private static final Map<Character, KeyFilteredParser[]> keyFilteredParserIndex =
+            createKeyIndex(keyFilteredParsers);
+
+    private static final List<PropertyParser> steps = createSteps();
 
     private static boolean debugMode;
 
+    private static List<PropertyParser> createSteps() {
+        List<PropertyParser> steps = new ArrayList<>();
+        steps.add(nullParser);
+        steps.add(fallbackParser);
+        steps.add(referenceParser);
+        steps.add(primitiveParser);
+        steps.addAll(keyFilteredParsers);
+        steps.add(listParser);
+        steps.add(mapParser);
+        return steps;
+    }
+
+    private static Map<Character, KeyFilteredParser[]> createKeyIndex(final List<KeyFilteredParser> parsers) {
+        Map<Character, List<KeyFilteredParser>> index = new HashMap<>();
+        for (KeyFilteredParser parser : parsers) {
+            for (String suffix : parser.getSuffixes()) {
+                List<KeyFilteredParser> candidates =
+                        index.computeIfAbsent(suffix.charAt(suffix.length() - 1), c -> new ArrayList<>());
+                if (!candidates.contains(parser)) candidates.add(parser);
+            }
+        }
+        Map<Character, KeyFilteredParser[]> result = new HashMap<>(index.size() * 2);
+        index.forEach((c, candidates) -> result.put(c, candidates.toArray(new KeyFilteredParser[0])));
+        return result;
+    }
+
     public static void setDebugMode(final boolean debugMode) {
         Parser.debugMode = debugMode;
     }
@@ -52,20 +92,81 @@ public final class Parser {
         return debugMode;
     }
 
+    /**
+     * Parses the value of the given {@link ParseResult}. Instead of trying every parsing step in order
+     * the value is classified by its prefix and the key by its suffix. Only steps which can possibly
+     * produce a result are run. The result is the same as running all steps in sequence.
+     *
+     * @param parseResult the result to parse.
+     * @param context the parser context.
+     * @return the parse result.
+     */
     public static ParseResult parse(final ParseResult parseResult, final ParserContext context) {
+        if (parseResult.finished) return parseResult;
+        String savedValue = parseResult.value;
+        ParseResult p = dispatch(parseResult, context);
+        if (!p.finished) finishUnparsed(p, savedValue, context);
+        return p;
+    }
+
+    private static ParseResult dispatch(final ParseResult parseResult, final ParserContext context) {
+        ParseResult p = parseResult;
+        if (p.value == null || PropertyValue.NULL.equals(p.value)) {
+            return nullParser.parse(p, context);
+        }
+        if (p.value.startsWith(FallbackParser.FALLBACK_PREFIX)) {
+            p = fallbackParser.parse(p, context);
+            if (p.finished) return p;
+        }
+        if (p.key.startsWith(ReferenceParser.REFERENCE_PREFIX)
+                || p.value.startsWith(ReferenceParser.REFERENCE_PREFIX)) {
+            p = referenceParser.parse(p, context);
+            if (p.finished) return p;
+        }
+        if (PrimitiveParser.isCandidate(p.value)) {
+            p = primitiveParser.parse(p, context);
+            if (p.finished) return p;
+        }
+        if (!p.key.isEmpty()) {
+            KeyFilteredParser[] candidates = keyFilteredParserIndex.get(p.key.charAt(p.key.length() - 1));
+            if (candidates != null) {
+                for (KeyFilteredParser candidate : candidates) {
+                    p = candidate.parse(p, context);
+                    if (p.finished) return p;
+                }
+            }
+        }
+        if (ParserUtil.startsWith(p, Delimiters.LIST_START)) {
+            p = listParser.parse(p, context);
+            if (p.finished) return p;
+        }
+        if (ParserUtil.startsWith(p, Delimiters.MAP_START)) {
+            p = mapParser.parse(p, context);
+        }
+        return p;
+    }
+
+    /*
+     * Runs all parsing steps in sequence. This is the reference behaviour of #parse.
+     */
+    static ParseResult parseSequential(final ParseResult parseResult, final ParserContext context) {
         ParseResult p = parseResult;
         String savedValue = parseResult.value;
         for (PropertyParser step : steps) {
             if (p.finished) return p;
             p = step.parse(p, context);
         }
-        if (!p.finished) {
+        if (!p.finished) finishUnparsed(p, savedValue, context);
+        return p;
+    }
+
+    private static void finishUnparsed(final ParseResult p, final String savedValue, final ParserContext context) {
+        if (context.isReportWarnings()) {
             for (String warning : p.warnings) {
                 ParserUtil.warning(warning);
             }
-            ParserUtil.setNonNull(p, savedValue);
         }
-        return p;
+        ParserUtil.setNonNull(p, savedValue);
     }
 
     public static ParseResult createParseResult(final String key, final String value) {
@@ -76,6 +177,24 @@ public final class Parser {
         }
     }
 
+    /**
+     * Creates a {@link ParseResult} which may be reused by subsequent calls with the same context. The
+     * returned result should not be retained after the next call to this method.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @param context the parser context.
+     * @return the parse result.
+     */
+    public static ParseResult createParseResult(final String key, final String value, final ParserContext context) {
+        if (isDebugMode()) {
+            // Debug results are stored in the defaults and can't be reused.
+            return new DebugParseResult(key, value);
+        } else {
+            return context.reusableParseResult(key, value);
+        }
+    }
+
     public static class DebugParseResult extends ParseResult {
 
         public String originalKey;
@@ -29,10 +29,36 @@ public class ParserContext {
     public final Map<Object, Object> defaults;
     public final IconResolver iconResolver;
 
+    private ParseResult reusableParseResult;
+    private boolean reportWarnings = true;
+
     public ParserContext(final Map<Object, Object> accumulator, final Map<Object, Object> defaults,
             final IconResolver iconResolver) {
         this.accumulator = accumulator;
         this.defaults = defaults;
         this.iconResolver = iconResolver;
     }
+
+    /**
+     * Sets whether warnings of values which couldn't be parsed are reported. Used if the value is going
+     * to be parsed again later on e.g. because it references a property which isn't loaded yet.
+     *
+     * @param reportWarnings true if warnings should be reported.
+     */
+    public void setReportWarnings(final boolean reportWarnings) {
+        this.reportWarnings = reportWarnings;
+    }
+
+    boolean isReportWarnings() {
+        return reportWarnings;
+    }
+
+    ParseResult reusableParseResult(final String key, final String value) {
+        if (reusableParseResult == null) {
+            reusableParseResult = new ParseResult(key, value);
+        } else {
+            reusableParseResult.reset(key, value);
+        }
+        return reusableParseResult;
+    }
 }
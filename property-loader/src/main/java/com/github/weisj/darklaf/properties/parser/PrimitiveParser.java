@@ -35,7 +35,7 @@ public class PrimitiveParser implements PropertyParser {
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
         if (parseResult.value.startsWith(COLOR_PREFIX)) {
             Color c = ColorUtil.fromHex(parseResult.value, null, true);
-            ParserUtil.setNonNull(parseResult, c != null ? new DarkColorUIResource(c) : null);
+            ParserUtil.setNonNull(parseResult, DarkColorUIResource.shared(c));
         }
         if (parseResult.finished) return parseResult;
         if (ParserUtil.startsWith(parseResult, STRING_DELIMITER)) {
@@ -51,6 +51,21 @@ public class PrimitiveParser implements PropertyParser {
         return parseResult;
     }
 
+    /**
+     * Returns whether the value could possibly be parsed by this parser. This is a cheap check based on
+     * the first character of the value.
+     *
+     * @param value the value.
+     * @return false if the parser won't produce a result for the value.
+     */
+    static boolean isCandidate(final String value) {
+        if (value.isEmpty()) return false;
+        char c = value.charAt(0);
+        return c == COLOR_PREFIX.charAt(0) || c == STRING_DELIMITER
+                || c == '-' || c == '+' || Character.isDigit(c)
+                || c == 't' || c == 'T' || c == 'f' || c == 'F';
+    }
+
     private Boolean getBoolean(final String value) {
         return PropertyValue.TRUE.equalsIgnoreCase(value)
                 ? Boolean.TRUE
@@ -22,7 +22,7 @@ package com.github.weisj.darklaf.properties.parser;
 
 public class ReferenceParser implements PropertyParser {
 
-    private static final String REFERENCE_PREFIX = "%";
+    static final String REFERENCE_PREFIX = "%";
 
     @Override
     public ParseResult doParse(final ParseResult parseResult, final ParserContext context) {
@@ -32,7 +32,7 @@ public class ReferenceParser implements PropertyParser {
             ParserUtil.replaceIfNull(parseResult, parseResult.value, context.accumulator);
             ParserUtil.replaceIfNull(parseResult, parseResult.value, context.defaults);
             if (!parseResult.finished) {
-                parseResult.warnings.add("Could not reference value '"
+                parseResult.addWarning("Could not reference value '"
                         + parseResult.value + "' while loading '" + parseResult.key + "'. "
                         + "Maybe it's a forward reference.");
                 parseResult.restore();
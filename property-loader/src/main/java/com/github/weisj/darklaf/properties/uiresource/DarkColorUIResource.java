@@ -24,8 +24,12 @@ import java.awt.*;
 
 import javax.swing.plaf.ColorUIResource;
 
+import com.github.weisj.darklaf.util.cache.Interner;
+
 public class DarkColorUIResource extends ColorUIResource {
 
+    private static final Interner<DarkColorUIResource> interner = new Interner<>();
+
     public DarkColorUIResource(final int r, final int g, final int b) {
         super(r, g, b);
     }
@@ -42,6 +46,19 @@ public class DarkColorUIResource extends ColorUIResource {
         super(c);
     }
 
+    /**
+     * Returns a shared color resource with the same rgb value as the given color. Colors obtained
+     * through this method can be compared by identity.
+     *
+     * @param color the color.
+     * @return the shared color resource or null if the color is null.
+     */
+    public static DarkColorUIResource shared(final Color color) {
+        if (color == null) return null;
+        if (color.getClass() == DarkColorUIResource.class) return interner.intern((DarkColorUIResource) color);
+        return interner.intern(new DarkColorUIResource(color));
+    }
+
     @Override
     public Color darker() {
         return new DarkColorUIResource(super.darker());
@@ -27,8 +27,12 @@ import java.util.Map;
 
 import javax.swing.plaf.FontUIResource;
 
+import com.github.weisj.darklaf.util.cache.Interner;
+
 public class DarkFontUIResource extends FontUIResource {
 
+    private static final Interner<DarkFontUIResource> interner = new Interner<>();
+
     /**
      * Creates a new DarkFontUIResource. Use
      * {@link com.github.weisj.darklaf.util.FontUtil#createFont(String, int, int)} in combination with
@@ -47,6 +51,19 @@ public class DarkFontUIResource extends FontUIResource {
         super(font);
     }
 
+    /**
+     * Returns a shared font resource equal to the given font. Fonts obtained through this method can be
+     * compared by identity.
+     *
+     * @param font the font.
+     * @return the shared font resource or null if the font is null.
+     */
+    public static DarkFontUIResource shared(final Font font) {
+        if (font == null) return null;
+        if (font.getClass() == DarkFontUIResource.class) return interner.intern((DarkFontUIResource) font);
+        return interner.intern(new DarkFontUIResource(font));
+    }
+
     @Override
     public Font deriveFont(final int style) {
         return new DarkFontUIResource(super.deriveFont(style));
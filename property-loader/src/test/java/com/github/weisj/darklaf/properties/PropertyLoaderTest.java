@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.UIDefaults;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.properties.icons.IconLoader;
+
+class PropertyLoaderTest {
+
+    @AfterEach
+    void cleanup() {
+        PropertyLoader.setDependencyOrdered(false);
+    }
+
+    @Test
+    void testFindReferences() {
+        Assertions.assertEquals(Arrays.asList("a", "b.c"), ReferenceGraph.findReferences("%a,%b.c"));
+        Assertions.assertEquals(Arrays.asList("a", "b"), ReferenceGraph.findReferences("[%a]{x:%b}"));
+        Assertions.assertEquals(Arrays.asList("a"), ReferenceGraph.findReferences("?:%a"));
+        Assertions.assertTrue(ReferenceGraph.findReferences("50%").isEmpty());
+        Assertions.assertTrue(ReferenceGraph.findReferences("Hello World").isEmpty());
+    }
+
+    @Test
+    void testForwardReferencesAreResolved() {
+        PropertyLoader.setDependencyOrdered(true);
+        Map<Object, Object> properties = new HashMap<>();
+        properties.put("a", "%b");
+        properties.put("b", "%c");
+        properties.put("%d", "%a");
+        properties.put("c", "#FF0000");
+        // Reverse dependency order.
+        Set<String> keys = new LinkedHashSet<>(Arrays.asList("%d", "a", "b", "c"));
+
+        UIDefaults defaults = new UIDefaults();
+        PropertyLoader.putProperties(properties, keys, defaults, defaults,
+                IconLoader.get(PropertyLoaderTest.class));
+        for (String key : Arrays.asList("a", "b", "c", "d")) {
+            Assertions.assertEquals(Color.RED, defaults.get(key), key);
+        }
+    }
+
+    @Test
+    void testDependencyOrder() {
+        Map<Object, Object> properties = new HashMap<>();
+        properties.put("a", "%b");
+        properties.put("b", "[%c,%missing]");
+        properties.put("c", "#FF0000");
+        properties.put("e", "%e");
+        List<String> keys = Arrays.asList("a", "b", "c", "e");
+
+        List<String> ordered = ReferenceGraph.create(properties, new LinkedHashSet<>(keys)).sort(keys);
+        Assertions.assertEquals(Arrays.asList("c", "b", "a", "e"), ordered);
+    }
+
+    @Test
+    void testCyclicReferences() {
+        Map<Object, Object> properties = new HashMap<>();
+        properties.put("a", "%b");
+        properties.put("b", "%a");
+        properties.put("c", "%a");
+        List<String> keys = Arrays.asList("c", "a", "b");
+
+        List<String> ordered = ReferenceGraph.create(properties, new LinkedHashSet<>(keys)).sort(keys);
+        Assertions.assertEquals(3, ordered.size());
+        Assertions.assertTrue(ordered.containsAll(keys));
+        Assertions.assertTrue(ordered.indexOf("a") < ordered.indexOf("c"));
+    }
+
+    @Test
+    void testReferencesAcrossFilesAreResolved() {
+        PropertyLoader.setDependencyOrdered(true);
+        Map<Object, Object> first = new HashMap<>();
+        first.put("a", "%b");
+        first.put("c", "%b");
+        first.put("list", "[%b,%a]");
+        Map<Object, Object> second = new HashMap<>();
+        second.put("b", "#FF0000");
+        second.put("c", "#00FF00");
+
+        UIDefaults defaults = new UIDefaults();
+        PropertyLoader.beginLoading();
+        try {
+            putProperties(first, defaults);
+            Assertions.assertEquals("%b", defaults.get("a"));
+            putProperties(second, defaults);
+        } finally {
+            PropertyLoader.finishLoading();
+        }
+        Assertions.assertEquals(Color.RED, defaults.get("a"));
+        Assertions.assertEquals(Arrays.asList(Color.RED, Color.RED), defaults.get("list"));
+        // Values overridden by a later file are kept.
+        Assertions.assertEquals(Color.GREEN, defaults.get("c"));
+    }
+
+    @Test
+    void testReferencesAcrossFilesAreKeptWithoutDependencyOrder() {
+        Map<Object, Object> first = new HashMap<>();
+        first.put("a", "%b");
+        Map<Object, Object> second = new HashMap<>();
+        second.put("b", "#FF0000");
+
+        UIDefaults defaults = new UIDefaults();
+        PropertyLoader.beginLoading();
+        try {
+            putProperties(first, defaults);
+            putProperties(second, defaults);
+        } finally {
+            PropertyLoader.finishLoading();
+        }
+        Assertions.assertEquals("%b", defaults.get("a"));
+        Assertions.assertEquals(Color.RED, defaults.get("b"));
+    }
+
+    @Test
+    void testPrefixedKeysDontCollide() {
+        Map<Object, Object> properties = new HashMap<>();
+        properties.put("x", "%a");
+        properties.put("a", "%b");
+        properties.put("%a", "%c");
+        properties.put("b", "#FF0000");
+        properties.put("c", "#00FF00");
+        List<String> keys = Arrays.asList("x", "a", "%a", "b", "c");
+
+        List<String> ordered = ReferenceGraph.create(properties, new LinkedHashSet<>(keys)).sort(keys);
+        Assertions.assertTrue(ordered.indexOf("b") < ordered.indexOf("a"));
+        Assertions.assertTrue(ordered.indexOf("c") < ordered.indexOf("%a"));
+        Assertions.assertTrue(ordered.indexOf("a") < ordered.indexOf("x"));
+        Assertions.assertTrue(ordered.indexOf("%a") < ordered.indexOf("x"));
+    }
+
+    private static void putProperties(final Map<Object, Object> properties, final UIDefaults defaults) {
+        Set<String> keys = new LinkedHashSet<>();
+        properties.keySet().forEach(k -> keys.add(k.toString()));
+        PropertyLoader.putProperties(properties, keys, defaults, defaults,
+                IconLoader.get(PropertyLoaderTest.class));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.UIManager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@ResourceLock(value = "IconLoader")
+class IconAtlasTest {
+
+    @BeforeAll
+    static void setup() {
+        // Installing the look and feel changes the theme status, which would invalidate the atlas.
+        UIManager.getDefaults();
+    }
+
+    @Test
+    void testRegionIsReused() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 16, 16);
+        IconAtlas atlas = IconAtlas.get(1, 1);
+        IconAtlas.Region region = atlas.render(icon, null, new Dimension(16, 16));
+        Assertions.assertNotNull(region);
+        Assertions.assertTrue(region.isValid());
+        Assertions.assertSame(region, atlas.render(icon, region, new Dimension(16, 16)));
+
+        IconAtlas.Region resized = atlas.render(icon, region, new Dimension(32, 32));
+        Assertions.assertNotSame(region, resized);
+        Assertions.assertEquals(32, resized.getWidth());
+        Assertions.assertEquals(32, resized.getHeight());
+    }
+
+    @Test
+    void testAtlasPerScale() {
+        Assertions.assertSame(IconAtlas.get(1, 1), IconAtlas.get(1, 1));
+        Assertions.assertNotSame(IconAtlas.get(1, 1), IconAtlas.get(2, 2));
+    }
+
+    @Test
+    void testLargeIconsAreNotPlaced() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 100, 100);
+        Assertions.assertNull(IconAtlas.get(1, 1).render(icon, null, new Dimension(100, 100)));
+    }
+
+    @Test
+    void testThemeChangeInvalidatesAtlas() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 16, 16);
+        IconAtlas atlas = IconAtlas.get(1, 1);
+        IconAtlas.Region region = atlas.render(icon, null, new Dimension(16, 16));
+        Object theme = IconLoader.getThemeStatus();
+        try {
+            IconLoader.updateThemeStatus(new Object());
+            Assertions.assertFalse(region.isValid());
+            Assertions.assertNotSame(atlas, IconAtlas.get(1, 1));
+        } finally {
+            IconLoader.updateThemeStatus(theme);
+        }
+    }
+
+    @Test
+    void testAtlasIsFilled() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 16, 16);
+        IconAtlas.invalidate();
+        IconAtlas atlas = IconAtlas.get(1, 1);
+        int count = 0;
+        while (atlas.render(icon, null, new Dimension(64, 64)) != null) {
+            count++;
+        }
+        // 7 icons per row and column (including the padding) on 4 pages.
+        Assertions.assertEquals(7 * 7 * 4, count);
+    }
+
+    @Test
+    void testReleasedRegionIsReused() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 16, 16);
+        IconAtlas.invalidate();
+        IconAtlas atlas = IconAtlas.get(1, 1);
+        Dimension size = new Dimension(64, 64);
+        List<IconAtlas.Region> regions = new ArrayList<>();
+        IconAtlas.Region region;
+        while ((region = atlas.render(icon, null, size)) != null) {
+            regions.add(region);
+        }
+        regions.get(0).release();
+        // Only regions of the same size are reused.
+        Assertions.assertNull(atlas.render(icon, null, new Dimension(60, 60)));
+        Assertions.assertNotNull(atlas.render(icon, null, size));
+        Assertions.assertNull(atlas.render(icon, null, size));
+    }
+
+    @Test
+    @Timeout(value = 20)
+    void testRegionsOfCollectedIconsAreReclaimed() {
+        DarkSVGIcon icon = (DarkSVGIcon) IconLoader.get(IconAtlasTest.class).getIcon("svg_icon.svg", 16, 16);
+        IconAtlas.invalidate();
+        IconAtlas atlas = IconAtlas.get(1, 1);
+        Dimension size = new Dimension(64, 64);
+        // The derived icons aren't referenced anywhere else.
+        while (atlas.render(icon.derive(32, 32), null, size) != null) {
+            // Fill the atlas.
+        }
+        while (atlas.render(icon, null, size) == null) {
+            System.gc();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.util.Pair;
+
+class IconColorMapperTest {
+
+    private static String ref(final String key) {
+        return "%" + key;
+    }
+
+    @Test
+    void testReferenceChainsAreFollowed() {
+        Map<Object, Object> map = new HashMap<>();
+        Map<Object, Object> defaults = new HashMap<>();
+        map.put("a", ref("b"));
+        map.put("b", ref("c"));
+        defaults.put("c", ref("d"));
+        defaults.put("d", Color.GREEN);
+
+        Pair<Object, Color> entry = IconColorMapper.getEntry(map, defaults, "a", null, Color.class);
+        Assertions.assertEquals("d", entry.getFirst());
+        Assertions.assertEquals(Color.GREEN, entry.getSecond());
+    }
+
+    @Test
+    void testReferenceToItselfUsesDefaults() {
+        Map<Object, Object> map = new HashMap<>();
+        Map<Object, Object> defaults = new HashMap<>();
+        map.put("a", ref("a"));
+        defaults.put("a", Color.BLUE);
+
+        Assertions.assertEquals(Color.BLUE, IconColorMapper.get(map, defaults, "a", null, Color.class));
+    }
+
+    @Test
+    void testCyclesAndLongChainsAreNotResolved() {
+        Map<Object, Object> map = new HashMap<>();
+        map.put("a", ref("b"));
+        map.put("b", ref("a"));
+        Assertions.assertNull(IconColorMapper.get(map, new HashMap<>(), "a", null, Color.class));
+
+        map.clear();
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, ref("key" + (i + 1)));
+        }
+        map.put("key10", Color.RED);
+        Assertions.assertNull(IconColorMapper.get(map, null, "key0", null, Color.class));
+        Assertions.assertEquals(Color.RED, IconColorMapper.get(map, null, "key7", null, Color.class));
+        // Fallbacks are used if the chain can't be resolved.
+        Assertions.assertEquals(Color.RED,
+                IconColorMapper.get(map, null, "key0", new Object[] {"key9"}, Color.class));
+    }
+}
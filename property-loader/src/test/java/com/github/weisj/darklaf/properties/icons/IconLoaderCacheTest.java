@@ -33,6 +33,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.parallel.ResourceLock;
 
+import com.github.weisj.darklaf.util.cache.CachePolicy;
+import com.github.weisj.darklaf.util.cache.CacheStatistics;
+
 
 @Timeout(value = 40)
 @ResourceLock(value = "IconLoader")
@@ -53,6 +56,29 @@ class IconLoaderCacheTest {
         Assertions.assertNotSame(icon1, icon2);
     }
 
+    @Test
+    void testBoundedCacheEvictsIcons() {
+        IconLoader loader = IconLoader.get(IconLoaderCacheTest.class);
+        CachePolicy policy = loader.getCachePolicy();
+        try {
+            // Room for exactly two of the icons below.
+            loader.setCachePolicy(CachePolicy.bounded(2 * 16 * 17 * 4));
+            Icon icon1 = loader.getIcon("image_icon.png", 16, 16);
+            Icon icon2 = loader.getIcon("image_icon.png", 16, 17);
+            Assertions.assertSame(icon1, loader.getIcon("image_icon.png", 16, 16));
+            loader.getIcon("image_icon.png", 17, 16);
+            Assertions.assertEquals(2, loader.cacheSize());
+            Assertions.assertNotSame(icon2, loader.getIcon("image_icon.png", 16, 17));
+
+            CacheStatistics statistics = loader.getCacheStatistics();
+            Assertions.assertTrue(statistics.getEvictionCount() > 0);
+            Assertions.assertTrue(statistics.getHitCount() > 0);
+            Assertions.assertTrue(statistics.getWeight() <= 2 * 16 * 17 * 4);
+        } finally {
+            loader.setCachePolicy(policy);
+        }
+    }
+
     @Test
     @Disabled("Flaky")
     void cacheReleasesImageIcon() {
@@ -67,6 +93,7 @@ class IconLoaderCacheTest {
 
     private void testCacheIsReleasedForIcon(final int count, final String iconName) {
         IconLoader loader = IconLoader.get(IconLoaderCacheTest.class);
+        loader.setCachePolicy(CachePolicy.soft());
         Set<Icon> hardReferences = new HashSet<>();
         for (int i = 0; i < count; i++) {
             Icon icon = loader.getIcon(iconName, i, i);
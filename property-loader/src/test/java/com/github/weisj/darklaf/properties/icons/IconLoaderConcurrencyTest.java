@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.Icon;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+@Timeout(value = 40)
+@ResourceLock(value = "IconLoader")
+class IconLoaderConcurrencyTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int ITERATIONS = 200;
+    private static final int SIZE_COUNT = 16;
+
+    @BeforeEach
+    void clearCache() {
+        IconLoader.get(IconLoaderConcurrencyTest.class).clearCache();
+    }
+
+    @Test
+    void testLoaderIsCreatedOnce() throws Exception {
+        List<IconLoader> loaders = runConcurrently(() -> IconLoader.get(IconLoaderConcurrencyTest.class));
+        for (IconLoader loader : loaders) {
+            Assertions.assertSame(loaders.get(0), loader);
+        }
+    }
+
+    @Test
+    void testIconIsCreatedOncePerKey() throws Exception {
+        testIconIsCreatedOncePerKey("image_icon.png");
+        testIconIsCreatedOncePerKey("svg_icon.svg");
+    }
+
+    private void testIconIsCreatedOncePerKey(final String path) throws Exception {
+        IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+        loader.clearCache();
+        List<Icon[]> results = runConcurrently(() -> {
+            Icon[] icons = new Icon[SIZE_COUNT];
+            for (int i = 0; i < ITERATIONS; i++) {
+                int size = i % SIZE_COUNT;
+                Icon icon = loader.getIcon(path, size + 1, size + 1);
+                if (icons[size] == null) icons[size] = icon;
+                Assertions.assertSame(icons[size], icon, path + " " + size);
+            }
+            return icons;
+        });
+        Icon[] expected = results.get(0);
+        for (Icon[] icons : results) {
+            for (int i = 0; i < SIZE_COUNT; i++) {
+                Assertions.assertSame(expected[i], icons[i], path + " " + i);
+            }
+        }
+        Assertions.assertEquals(SIZE_COUNT, loader.cacheSize());
+    }
+
+    @Test
+    void testAwareIconIsCreatedOnce() throws Exception {
+        IconLoader loader = IconLoader.get(IconLoaderConcurrencyTest.class);
+        List<Icon> icons = runConcurrently(() -> loader.getUIAwareIcon("svg_icon.svg", 16, 16));
+        for (Icon icon : icons) {
+            Assertions.assertSame(icons.get(0), icon);
+        }
+    }
+
+    @Test
+    void testSizeIndexIsLoadedConcurrently() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            // A fresh loader, which hasn't loaded its size index yet.
+            IconLoader loader = new IconLoader(IconLoaderConcurrencyTest.class);
+            List<Icon> icons = runConcurrently(() -> loader.getIcon("indexed_icon.svg"));
+            for (Icon icon : icons) {
+                Assertions.assertEquals(24, icon.getIconWidth());
+                Assertions.assertEquals(20, icon.getIconHeight());
+            }
+        }
+    }
+
+    private static <T> List<T> runConcurrently(final Callable<T> callable) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(THREAD_COUNT);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return callable.call();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -20,12 +20,24 @@
  */
 package com.github.weisj.darklaf.properties.icons;
 
+import java.awt.Color;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.parallel.ResourceLock;
 
 import com.github.weisj.jsvg.SVGDocument;
@@ -100,4 +112,69 @@ class SVGImageTest {
         }
         Assertions.assertEquals(1, svgSet.size());
     }
+
+    @Test
+    void testIndexedSizeDoesNotLoadIcon() {
+        IconLoader loader = IconLoader.get(SVGImageTest.class);
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("indexed_icon.svg");
+        // The size from the index intentionally differs from the actual size of the icon.
+        Assertions.assertEquals(24, icon.getIconWidth());
+        Assertions.assertEquals(20, icon.getIconHeight());
+        Assertions.assertFalse(icon.isDocumentLoaded());
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testAsyncLoading() throws Exception {
+        IconLoader loader = IconLoader.get(SVGImageTest.class);
+        AtomicInteger repaintCount = new AtomicInteger();
+        JComponent component = new JComponent() {
+            @Override
+            public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+                repaintCount.incrementAndGet();
+            }
+
+            @Override
+            public Color getForeground() {
+                return Color.RED;
+            }
+        };
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        IconLoader.setAsyncLoadingEnabled(true);
+        try {
+            DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+            SwingUtilities.invokeAndWait(() -> {
+                icon.paintIcon(component, image.getGraphics(), 0, 0);
+                // A placeholder covering the whole icon is painted while loading.
+                Assertions.assertNotEquals(0, image.getRGB(0, 0) >>> 24);
+                Assertions.assertNotEquals(0, image.getRGB(15, 15) >>> 24);
+                Assertions.assertEquals(16, icon.getIconWidth());
+                Assertions.assertEquals(16, icon.getIconHeight());
+            });
+            // The component is repainted once the icon has been loaded.
+            while (repaintCount.get() == 0) {
+                Thread.sleep(10);
+            }
+            Assertions.assertTrue(icon.isDocumentLoaded());
+            SwingUtilities.invokeAndWait(() -> icon.paintIcon(component, image.getGraphics(), 0, 0));
+            Assertions.assertEquals(1, repaintCount.get());
+        } finally {
+            IconLoader.setAsyncLoadingEnabled(false);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10)
+    void testPrewarm() throws Exception {
+        IconLoader loader = IconLoader.get(SVGImageTest.class);
+        DarkSVGIcon icon = (DarkSVGIcon) loader.getIcon("svg_icon.svg", 16, 16);
+        List<Point2D> scales = Arrays.asList(new Point2D.Double(1, 1), new Point2D.Double(2, 2));
+        SwingUtilities.invokeAndWait(() -> IconLoader.prewarm(Collections.singletonList(icon), scales));
+        AtomicBoolean prewarmed = new AtomicBoolean();
+        while (!prewarmed.get()) {
+            Thread.sleep(10);
+            SwingUtilities.invokeAndWait(() -> prewarmed.set(icon.hasScaledImage(1, 1) && icon.hasScaledImage(2, 2)));
+        }
+        Assertions.assertTrue(icon.isDocumentLoaded());
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.properties.icons;
+
+import java.awt.Color;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.UIManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import com.github.weisj.darklaf.properties.icons.ThemedSVGIconParserProvider.ThemedSolidColorPaint;
+
+@ResourceLock(value = "IconLoader")
+class ThemedColorTableTest {
+
+    private static final String COLOR_KEY = "ThemedColorTableTest.color";
+
+    @BeforeAll
+    static void setup() {
+        // Installing the look and feel changes the theme status, which would invalidate the table.
+        UIManager.getDefaults();
+    }
+
+    @AfterEach
+    void cleanup() {
+        UIManager.getDefaults().remove(COLOR_KEY);
+        UIManager.getLookAndFeelDefaults().remove(COLOR_KEY);
+        // Removing values doesn't notify the table.
+        ThemedColorTable.invalidate();
+    }
+
+    @Test
+    void testColorsAreSharedBetweenIcons() {
+        UIManager.getDefaults().put(COLOR_KEY, Color.RED);
+        ThemedSolidColorPaint first = createPaint();
+        ThemedSolidColorPaint second = createPaint();
+
+        long hits = IconLoader.getThemedColorStatistics().getHitCount();
+        ThemedSVGIconParserProvider.patchColors(Arrays.asList(first, second), UIManager.getDefaults(), null);
+
+        Assertions.assertEquals(new Color(255, 0, 0, 128), first.paint());
+        Assertions.assertSame(first.paint(), second.paint());
+        Assertions.assertEquals(hits + 1, IconLoader.getThemedColorStatistics().getHitCount());
+    }
+
+    @Test
+    void testThemeChangeResolvesColorsAgain() {
+        UIManager.getDefaults().put(COLOR_KEY, Color.RED);
+        List<ThemedSolidColorPaint> paints = Arrays.asList(createPaint());
+        ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+        Assertions.assertEquals(new Color(255, 0, 0, 128), paints.get(0).paint());
+
+        Object theme = IconLoader.getThemeStatus();
+        try {
+            UIManager.getDefaults().put(COLOR_KEY, Color.BLUE);
+            IconLoader.updateThemeStatus(new Object());
+            ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+            Assertions.assertEquals(new Color(0, 0, 255, 128), paints.get(0).paint());
+        } finally {
+            IconLoader.updateThemeStatus(theme);
+        }
+    }
+
+    @Test
+    void testChangedDefaultsResolveColorsAgain() {
+        UIManager.put(COLOR_KEY, Color.RED);
+        List<ThemedSolidColorPaint> paints = Arrays.asList(createPaint());
+        ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+        Assertions.assertEquals(new Color(255, 0, 0, 128), paints.get(0).paint());
+
+        UIManager.put(COLOR_KEY, Color.BLUE);
+        ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+        Assertions.assertEquals(new Color(0, 0, 255, 128), paints.get(0).paint());
+    }
+
+    @Test
+    void testInvalidatedIconResolvesColorsAgain() {
+        UIManager.getLookAndFeelDefaults().put(COLOR_KEY, Color.RED);
+        List<ThemedSolidColorPaint> paints = Arrays.asList(createPaint());
+        ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+        Assertions.assertEquals(new Color(255, 0, 0, 128), paints.get(0).paint());
+
+        // Changes to the look and feel defaults aren't observed by the table.
+        UIManager.getLookAndFeelDefaults().put(COLOR_KEY, Color.BLUE);
+        new ThemedSVGIcon(URI.create("file:/icon.svg"), 16, 16).invalidate();
+        ThemedSVGIconParserProvider.patchColors(paints, UIManager.getDefaults(), null);
+        Assertions.assertEquals(new Color(0, 0, 255, 128), paints.get(0).paint());
+    }
+
+    private static ThemedSolidColorPaint createPaint() {
+        return new ThemedSolidColorPaint(COLOR_KEY, new String[0], null, new String[0], 0.5f);
+    }
+}
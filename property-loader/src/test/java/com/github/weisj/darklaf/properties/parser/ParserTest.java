@@ -23,6 +23,8 @@ package com.github.weisj.darklaf.properties.parser;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Insets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
+import javax.swing.Icon;
 import javax.swing.UIDefaults;
 
 import org.junit.jupiter.api.Assertions;
@@ -84,6 +87,14 @@ class ParserTest {
         }
     }
 
+    @Test
+    void testEqualValuesAreShared() {
+        Object color = parse("key", "#FF8000");
+        Assertions.assertSame(color, parse("otherKey", "#ff8000"));
+        Object font = parse("key.font", "from(font(Dialog-0-12))withSize(14)");
+        Assertions.assertSame(font, parse("other.font", "from(font(Dialog-0-14))"));
+    }
+
     @Test
     void testReferences() {
         Assertions.assertEquals("key", Parser.parse(new ParseResult("%key", "value"), context).key);
@@ -196,6 +207,84 @@ class ParserTest {
         Assertions.assertEquals(map, parse("mapKey", "{key1:1,key2:false,3:value3,key4:[1,2,3]}"));
     }
 
+    @Test
+    void testDispatchMatchesSequentialParsing() {
+        context.accumulator.put("present", 42);
+        context.accumulator.put("presentColor", new Color(1, 2, 3));
+        context.defaults.put("fromDefaults", true);
+        List<Map.Entry<String, String>> samples = new ArrayList<>();
+        samples.add(entry("key", "null"));
+        samples.add(entry("key", "Hello World"));
+        samples.add(entry("key", "  padded  "));
+        samples.add(entry("key", ""));
+        samples.add(entry("key", "true"));
+        samples.add(entry("key", "FaLsE"));
+        samples.add(entry("key", "-17"));
+        samples.add(entry("key", "+17"));
+        samples.add(entry("key", "17px"));
+        samples.add(entry("key", "#ff00ff"));
+        samples.add(entry("key", "#nothex"));
+        samples.add(entry("key", "'quoted'"));
+        samples.add(entry("key", "%present"));
+        samples.add(entry("key", "%fromDefaults"));
+        samples.add(entry("key", "%missing"));
+        samples.add(entry("%key", "value"));
+        samples.add(entry("present", "?:false"));
+        samples.add(entry("absent", "?:false"));
+        samples.add(entry("absent", "?:%presentColor"));
+        samples.add(entry("key.insets", "1,2,3,4"));
+        samples.add(entry("keyInsets", "1,%present,3,4"));
+        samples.add(entry("key.margins", "1,2,3"));
+        samples.add(entry("key.size", "12,%present"));
+        samples.add(entry("keySize", "12"));
+        samples.add(entry("key.border", "java.lang.Object"));
+        samples.add(entry("keyRenderer", "java.lang.Object"));
+        samples.add(entry("key.component", "java.lang.Object"));
+        samples.add(entry("key.font", "withSize(14)withStyle(1)"));
+        samples.add(entry("keyFont", "from(font(Dialog-0-12))withSize(-2)"));
+        samples.add(entry("key.icon", "empty(12,14)"));
+        samples.add(entry("listKey", "[Test,false,15,%present]"));
+        samples.add(entry("listKey", "[1,2,[3,[4,5],6,7],8,[9],10]"));
+        samples.add(entry("mapKey", "{key1:1,key2:false,3:value3,key4:[1,2,3]}"));
+        samples.add(entry("mapKey", "{unterminated"));
+
+        for (Map.Entry<String, String> sample : samples) {
+            ParseResult expected = Parser.parseSequential(new ParseResult(sample.getKey(), sample.getValue()), context);
+            ParseResult actual = Parser.parse(new ParseResult(sample.getKey(), sample.getValue()), context);
+            String message = "Parsing " + sample;
+            Assertions.assertEquals(expected.finished, actual.finished, message);
+            Assertions.assertEquals(expected.key, actual.key, message);
+            Assertions.assertEquals(comparableResult(expected.result), comparableResult(actual.result), message);
+        }
+    }
+
+    @Test
+    void testReusedParseResult() {
+        ParseResult first = Parser.createParseResult("key.border", "java.lang.Object", context);
+        Object lazyValue = Parser.parse(first, context).result;
+        ParseResult second = Parser.createParseResult("key2.border", "java.util.ArrayList", context);
+        Object lazyValue2 = Parser.parse(second, context).result;
+
+        Assertions.assertEquals(Object.class, ((UIDefaults.LazyValue) lazyValue).createValue(null).getClass());
+        Assertions.assertEquals(ArrayList.class, ((UIDefaults.LazyValue) lazyValue2).createValue(null).getClass());
+    }
+
+    private static Map.Entry<String, String> entry(final String key, final String value) {
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+    private static Object comparableResult(final Object result) {
+        if (result instanceof UIDefaults.LazyValue) {
+            return "LazyValue:" + ((UIDefaults.LazyValue) result).createValue(null).getClass();
+        } else if (result instanceof UIDefaults.ActiveValue) {
+            return "ActiveValue:" + ((UIDefaults.ActiveValue) result).createValue(null).getClass();
+        } else if (result instanceof Icon) {
+            Icon icon = (Icon) result;
+            return "Icon:" + icon.getClass() + icon.getIconWidth() + "x" + icon.getIconHeight();
+        }
+        return result;
+    }
+
     @Test
     void testDelimitedSplit() {
         String value1 = "a,b,[c,d,{e,f},g],(h),i,j)Suffix";
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A cache which retains its values strongly up to a maximum total weight. If the bound is exceeded
+ * the least recently used entries are evicted first.
+ *
+ * <p>
+ * The cache is thread-safe. Lookups don't acquire any locks. Only evicting entries is serialized.
+ * The recency of concurrent lookups is approximate, hence the evicted entries may differ slightly
+ * from strict LRU order under contention.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ * @author Jannis Weis
+ */
+public class BoundedCache<K, V> implements Cache<K, V> {
+
+    private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final long maximumWeight;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final Object evictionLock = new Object();
+
+    /**
+     * Creates a new bounded cache.
+     *
+     * @param maximumWeight the maximum total weight of all entries.
+     * @param weigher estimates the weight of an entry. The weight of an entry is computed once when it
+     *        is inserted.
+     */
+    public BoundedCache(final long maximumWeight, final ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maximumWeight < 0) throw new IllegalArgumentException("Negative maximum weight " + maximumWeight);
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    @Override
+    public V get(final K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        Entry<V> old;
+        if (value != null) {
+            Entry<V> entry = new Entry<>(value, weigher.applyAsLong(key, value), clock.incrementAndGet());
+            weight.addAndGet(entry.weight);
+            old = cache.put(key, entry);
+        } else {
+            old = cache.remove(key);
+        }
+        if (old != null) weight.addAndGet(-old.weight);
+        if (weight.get() > maximumWeight) evictToMaximumWeight();
+    }
+
+    private void evictToMaximumWeight() {
+        synchronized (evictionLock) {
+            if (weight.get() <= maximumWeight) return;
+            // Snapshot the recency once instead of searching the eldest entry for every eviction.
+            List<Map.Entry<K, Entry<V>>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+            for (Map.Entry<K, Entry<V>> eldest : entries) {
+                if (weight.get() <= maximumWeight) return;
+                if (cache.remove(eldest.getKey(), eldest.getValue())) {
+                    weight.addAndGet(-eldest.getValue().weight);
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (K key : cache.keySet()) {
+            Entry<V> entry = cache.remove(key);
+            if (entry != null) weight.addAndGet(-entry.weight);
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>(cache.size());
+        for (Entry<V> entry : cache.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return cache.isEmpty();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), weight.get());
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        private volatile long lastAccess;
+
+        private Entry(final V value, final long weight, final long lastAccess) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
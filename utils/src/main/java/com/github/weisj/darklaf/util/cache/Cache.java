@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.Collection;
+
+/**
+ * A cache for values which may be recreated at any time. How long values are retained is decided by
+ * the implementation.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ * @author Jannis Weis
+ */
+public interface Cache<K, V> {
+
+    V get(final K key);
+
+    /**
+     * Puts the value into the cache. If the value is null the entry is removed.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    void put(final K key, final V value);
+
+    void clear();
+
+    /**
+     * Returns a snapshot of the values currently in the cache. Accessing the values doesn't affect the
+     * statistics or the retention of the values.
+     *
+     * @return the cached values.
+     */
+    Collection<V> values();
+
+    int size();
+
+    boolean isEmpty();
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     *
+     * @return the statistics.
+     */
+    CacheStatistics getStatistics();
+}
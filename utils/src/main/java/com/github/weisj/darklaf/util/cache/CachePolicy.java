@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Determines how the values of a {@link Cache} are retained.
+ *
+ * @author Jannis Weis
+ */
+public abstract class CachePolicy {
+
+    /**
+     * Values are retained until the garbage collector decides to reclaim them.
+     *
+     * @return the policy.
+     */
+    public static CachePolicy soft() {
+        return new CachePolicy() {
+            @Override
+            public <K, V extends SoftCache.Cacheable<K>> Cache<K, V> createCache(
+                    final ToLongBiFunction<? super K, ? super V> weigher) {
+                return new SoftCache<>();
+            }
+
+            @Override
+            public String toString() {
+                return "CachePolicy.soft";
+            }
+        };
+    }
+
+    /**
+     * Values are retained until their total estimated weight exceeds the given bound, after which the
+     * least recently used values are evicted.
+     *
+     * @param maximumWeight the maximum total weight of a cache.
+     * @return the policy.
+     */
+    public static CachePolicy bounded(final long maximumWeight) {
+        return new CachePolicy() {
+            @Override
+            public <K, V extends SoftCache.Cacheable<K>> Cache<K, V> createCache(
+                    final ToLongBiFunction<? super K, ? super V> weigher) {
+                return new BoundedCache<>(maximumWeight, weigher);
+            }
+
+            @Override
+            public String toString() {
+                return "CachePolicy.bounded(" + maximumWeight + ")";
+            }
+        };
+    }
+
+    /**
+     * Creates a new cache following this policy.
+     *
+     * @param weigher estimates the weight of an entry. Policies which aren't bounded by weight may
+     *        ignore it.
+     * @param <K> the key type.
+     * @param <V> the value type. Values have to reference their key, as soft caches only reference the keys
+     *        weakly.
+     * @return the cache.
+     */
+    public abstract <K, V extends SoftCache.Cacheable<K>> Cache<K, V> createCache(
+            final ToLongBiFunction<? super K, ? super V> weigher);
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalizes equal values to a single shared instance. Values are only weakly retained and are
+ * discarded once no longer referenced elsewhere.
+ *
+ * <p>
+ * Only immutable values with consistent {@link Object#equals(Object)} and {@link Object#hashCode()}
+ * should be interned.
+ *
+ * @param <T> the type of the values.
+ * @author Jannis Weis
+ */
+public class Interner<T> {
+
+    private final Map<T, WeakReference<T>> values = new WeakHashMap<>();
+
+    /**
+     * Returns the shared instance equal to the given value. If there is none the value itself becomes
+     * the shared instance.
+     *
+     * @param value the value.
+     * @return the shared instance or null if the value is null.
+     */
+    public synchronized T intern(final T value) {
+        if (value == null) return null;
+        WeakReference<T> reference = values.get(value);
+        T shared = reference != null ? reference.get() : null;
+        if (shared == null) {
+            values.put(value, new WeakReference<>(value));
+            shared = value;
+        }
+        return shared;
+    }
+
+    public synchronized int size() {
+        return values.size();
+    }
+
+    public synchronized void clear() {
+        values.clear();
+    }
+}
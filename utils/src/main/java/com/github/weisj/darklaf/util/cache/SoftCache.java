@@ -21,45 +21,110 @@
 package com.github.weisj.darklaf.util.cache;
 
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
-public class SoftCache<K, V extends SoftCache.Cacheable<K>> {
+/**
+ * A cache which retains its values until the garbage collector decides to reclaim them.
+ *
+ * <p>
+ * The cache is thread-safe and doesn't acquire any locks. Entries whose value has been reclaimed are
+ * removed on the next access of the cache.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ * @author Jannis Weis
+ */
+public class SoftCache<K, V extends SoftCache.Cacheable<K>> implements Cache<K, V> {
 
-    private final Map<K, SoftReference<V>> cache = new WeakHashMap<>();
+    private final Map<K, ValueReference<K, V>> cache = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> referenceQueue = new ReferenceQueue<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
 
+    @Override
     public V get(final K key) {
+        expungeReclaimedEntries();
         Reference<V> reference = cache.get(key);
-        if (reference == null) return null;
-        V value = reference.get();
+        V value = reference != null ? reference.get() : null;
         if (value == null) {
-            cache.remove(key);
+            missCount.increment();
+        } else {
+            hitCount.increment();
         }
         return value;
     }
 
+    @Override
     public void put(final K key, final V value) {
+        expungeReclaimedEntries();
         if (value != null) {
-            cache.put(key, new SoftReference<>(value));
+            cache.put(key, new ValueReference<>(key, value, referenceQueue));
             value.setCacheKey(key);
         } else {
             cache.remove(key);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private void expungeReclaimedEntries() {
+        Reference<? extends V> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            ValueReference<K, V> valueReference = (ValueReference<K, V>) reference;
+            // The entry may have been replaced in the meantime.
+            if (cache.remove(valueReference.key, valueReference)) evictionCount.increment();
+        }
+    }
+
+    @Override
     public void clear() {
         cache.clear();
+        expungeReclaimedEntries();
     }
 
+    @Override
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>(cache.size());
+        for (Reference<V> reference : cache.values()) {
+            V value = reference.get();
+            if (value != null) values.add(value);
+        }
+        return values;
+    }
+
+    @Override
     public int size() {
+        expungeReclaimedEntries();
         return cache.size();
     }
 
+    @Override
     public boolean isEmpty() {
+        expungeReclaimedEntries();
         return cache.isEmpty();
     }
 
+    @Override
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), 0);
+    }
+
+    private static final class ValueReference<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private ValueReference(final K key, final V value, final ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
     public interface Cacheable<K> {
         void setCacheKey(final K key);
     }
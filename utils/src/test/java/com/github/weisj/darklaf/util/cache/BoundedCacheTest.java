@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2019-2021 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.github.weisj.darklaf.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        BoundedCache<String, Object> cache = new BoundedCache<>(3, (k, v) -> 1);
+        cache.put("a", new Object());
+        cache.put("b", new Object());
+        cache.put("c", new Object());
+        Assertions.assertNotNull(cache.get("a"));
+        cache.put("d", new Object());
+
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertNotNull(cache.get("c"));
+        Assertions.assertNotNull(cache.get("d"));
+
+        CacheStatistics statistics = cache.getStatistics();
+        Assertions.assertEquals(4, statistics.getHitCount());
+        Assertions.assertEquals(1, statistics.getMissCount());
+        Assertions.assertEquals(1, statistics.getEvictionCount());
+        Assertions.assertEquals(3, statistics.getWeight());
+    }
+
+    @Test
+    void testWeightIsTracked() {
+        BoundedCache<String, Object> cache = new BoundedCache<>(100, (k, v) -> k.length() * 10L);
+        cache.put("aaaa", new Object());
+        cache.put("bbbb", new Object());
+        Assertions.assertEquals(80, cache.getStatistics().getWeight());
+
+        cache.put("aaaa", new Object());
+        Assertions.assertEquals(80, cache.getStatistics().getWeight());
+
+        cache.put("cccc", new Object());
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get("bbbb"));
+        Assertions.assertEquals(80, cache.getStatistics().getWeight());
+
+        cache.put("cccc", null);
+        Assertions.assertEquals(40, cache.getStatistics().getWeight());
+
+        cache.clear();
+        Assertions.assertTrue(cache.isEmpty());
+        Assertions.assertEquals(0, cache.getStatistics().getWeight());
+    }
+
+    @Test
+    void testEvictionFollowsAccessOrder() {
+        BoundedCache<String, String> cache = new BoundedCache<>(3, (k, v) -> v.length());
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+        cache.get("a");
+        cache.get("b");
+        cache.put("d", "dd");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get("c"));
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals("b", cache.get("b"));
+        Assertions.assertEquals("dd", cache.get("d"));
+        Assertions.assertEquals(2, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    void testConcurrentAccessStaysWithinBounds() throws Exception {
+        BoundedCache<Integer, Object> cache = new BoundedCache<>(50, (k, v) -> 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 7 + offset) % 200;
+                        if (cache.get(key) == null) cache.put(key, new Object());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertTrue(cache.size() <= 50);
+        Assertions.assertEquals(cache.size(), cache.getStatistics().getWeight());
+    }
+}